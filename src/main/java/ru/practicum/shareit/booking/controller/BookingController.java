@@ -1,22 +1,40 @@
 package ru.practicum.shareit.booking.controller;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.global.execution.Offloaded;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 
+@Timed(histogram = true)
 @RestController
 @RequestMapping(path = "/bookings")
-@RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final long exportTimeoutMs;
+
+    public BookingController(BookingService bookingService,
+                             @Value("${shareit.booking.export.timeout-ms:600000}") long exportTimeoutMs) {
+        this.bookingService = bookingService;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
 
     @GetMapping(value = "/{bookingId}")
     public BookingResponseDto findBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -24,6 +42,7 @@ public class BookingController {
         return bookingService.getById(userId, bookingId);
     }
 
+    @Offloaded
     @GetMapping
     public List<BookingResponseDto> findBookingByState(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                        @RequestParam(value = "state", required = false,
@@ -31,10 +50,16 @@ public class BookingController {
                                                        @RequestParam(value = "from", required = false,
                                                                defaultValue = "0") Integer from,
                                                        @RequestParam(value = "size", required = false,
-                                                               defaultValue = "20") Integer size) {
+                                                               defaultValue = "20") Integer size,
+                                                       @RequestParam(value = "after", required = false)
+                                                       String after) {
+        if (after != null) {
+            return bookingService.getAllByStateAfter(userId, state, after, size);
+        }
         return bookingService.getAllByState(userId, state, from, size);
     }
 
+    @Offloaded
     @GetMapping(value = "/owner")
     public List<BookingResponseDto> findBookingByStateForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                                @RequestParam(value = "state", required = false,
@@ -42,10 +67,52 @@ public class BookingController {
                                                                @RequestParam(value = "from", required = false,
                                                                        defaultValue = "0") Integer from,
                                                                @RequestParam(value = "size", required = false,
-                                                                       defaultValue = "20") Integer size) {
+                                                                       defaultValue = "20") Integer size,
+                                                               @RequestParam(value = "after", required = false)
+                                                               String after) {
+        if (after != null) {
+            return bookingService.getAllByOwnerAfter(userId, state, after, size);
+        }
         return bookingService.getAllByOwner(userId, state, from, size);
     }
 
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(value = "state", required = false,
+                                                                        defaultValue = "ALL") String state,
+                                                                HttpServletRequest request,
+                                                                HttpServletResponse response) {
+        StreamingResponseBody body = bookingService.exportAllByState(userId, state);
+        setExportTimeout(request, response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsForOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(value = "state",
+                                                                                required = false,
+                                                                                defaultValue = "ALL") String state,
+                                                                        HttpServletRequest request,
+                                                                        HttpServletResponse response) {
+        StreamingResponseBody body = bookingService.exportAllByOwner(userId, state);
+        setExportTimeout(request, response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/summary")
+    public BookingSummaryDto getBookingSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getSummary(userId);
+    }
+
+    @GetMapping(value = "/owner/summary")
+    public BookingSummaryDto getBookingSummaryForOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerSummary(userId);
+    }
+
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public BookingResponseDto saveBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
@@ -54,10 +121,33 @@ public class BookingController {
         return bookingService.save(bookingDto);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BookingBatchResultDto> saveBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestBody @NotNull List<BookingRequestDto> bookingDtos) {
+        return bookingService.saveAll(userId, bookingDtos);
+    }
+
+    @PatchMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BookingBatchResultDto> changeBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestBody @NotNull
+                                                             List<BookingStatusChangeDto> changes) {
+        return bookingService.changeStatuses(userId, changes);
+    }
+
     @PatchMapping(value = "/{bookingId}")
     public BookingResponseDto changeBookingStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                   @PathVariable("bookingId") Long bookingId,
                                                   @RequestParam Boolean approved) {
         return bookingService.changeStatus(userId, bookingId, approved);
     }
+
+    /**
+     * Replaces the async request of this export with one that has the export timeout, so a long history is not cut
+     * off by the default timeout that every other async request keeps.
+     */
+    private void setExportTimeout(HttpServletRequest request, HttpServletResponse response) {
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.createAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(exportTimeoutMs);
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+    }
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.db.model.enums;
+
+/**
+ * Side of the booking the user is on: the one who booked the item or the owner of the item.
+ */
+public enum BookingRole {
+    BOOKER,
+    OWNER
+}
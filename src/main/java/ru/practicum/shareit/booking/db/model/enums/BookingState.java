@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.db.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.global.exception.BadStateException;
+
+/**
+ * Filter of the booking lists: a time window relative to now, a status, or everything.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum BookingState {
+    ALL(false, null),
+    CURRENT(true, null),
+    PAST(true, null),
+    FUTURE(true, null),
+    WAITING(false, BookingStatus.WAITING),
+    REJECTED(false, BookingStatus.REJECTED);
+
+    private final boolean timeBound;
+    private final BookingStatus status;
+
+    public static BookingState from(String state) {
+        for (BookingState bookingState : values()) {
+            if (bookingState.name().equals(state)) {
+                return bookingState;
+            }
+        }
+        throw new BadStateException(String.format("Unknown state: %s", state));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking.db.repository;
+
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Booking list statements composed from a role condition and a state condition. Every (role, state) pair
+ * gets one statement text for offset pages and one for seek pages, built once, so Hibernate parses each of
+ * them a single time and the database sees a fixed set of plans. The state conditions are defined here only.
+ */
+final class BookingQueries {
+    private static final String SELECT_VIEW = "select new ru.practicum.shareit.booking.dto.BookingViewDto(b.id, " +
+            "b.start, b.end, b.status, i.id, i.name, i.description, i.available, i.request.id, o.id, o.name, " +
+            "o.email, u.id, u.name, u.email) " +
+            "from Booking b " +
+            "join b.item i " +
+            "join i.owner o " +
+            "join b.booker u ";
+    private static final String AFTER_CURSOR = "(b.start < :afterStart " +
+            "or (b.start = :afterStart and b.id < :afterId))";
+    private static final String ORDER = " order by b.start desc, b.id desc";
+    private static final Map<BookingRole, Map<BookingState, String>> BY_STATE = new EnumMap<>(BookingRole.class);
+    private static final Map<BookingRole, Map<BookingState, String>> BY_STATE_AFTER =
+            new EnumMap<>(BookingRole.class);
+
+    static {
+        for (BookingRole role : BookingRole.values()) {
+            Map<BookingState, String> queries = new EnumMap<>(BookingState.class);
+            Map<BookingState, String> queriesAfter = new EnumMap<>(BookingState.class);
+            for (BookingState state : BookingState.values()) {
+                String condition = roleCondition(role);
+                String stateCondition = stateCondition(state);
+                if (stateCondition != null) {
+                    condition += " and " + stateCondition;
+                }
+                queries.put(state, SELECT_VIEW + "where " + condition + ORDER);
+                queriesAfter.put(state, SELECT_VIEW + "where " + condition + " and " + AFTER_CURSOR + ORDER);
+            }
+            BY_STATE.put(role, queries);
+            BY_STATE_AFTER.put(role, queriesAfter);
+        }
+    }
+
+    private BookingQueries() {
+    }
+
+    /**
+     * Statement with {@code :userId}, plus {@code :time} for time-bound states and {@code :status}
+     * for states with a status.
+     */
+    static String byState(BookingRole role, BookingState state) {
+        return BY_STATE.get(role).get(state);
+    }
+
+    /**
+     * Statement of {@link #byState} that also takes {@code :afterStart} and {@code :afterId} and starts right
+     * after that booking.
+     */
+    static String byStateAfter(BookingRole role, BookingState state) {
+        return BY_STATE_AFTER.get(role).get(state);
+    }
+
+    private static String roleCondition(BookingRole role) {
+        switch (role) {
+            case BOOKER:
+                return "b.booker.id = :userId";
+            case OWNER:
+                return "b.itemOwnerId = :userId";
+            default:
+                throw new IllegalArgumentException("Unknown role: " + role);
+        }
+    }
+
+    private static String stateCondition(BookingState state) {
+        switch (state) {
+            case CURRENT:
+                return "b.start <= :time and b.end >= :time";
+            case PAST:
+                return "b.end < :time";
+            case FUTURE:
+                return "b.start > :time";
+            case WAITING:
+            case REJECTED:
+                return "b.status = :status";
+            default:
+                return null;
+        }
+    }
+}
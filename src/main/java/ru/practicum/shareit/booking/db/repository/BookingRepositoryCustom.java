@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.db.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    /**
+     * One page of the bookings of the user in the role, newest first; only the offset and size of the pageable are used.
+     */
+    List<BookingViewDto> findAllByState(BookingRole role, Long userId, BookingState state, LocalDateTime time,
+                                        Pageable pageable);
+
+    /**
+     * All bookings of the user in the role, newest first, read through a forward-only cursor that fetches
+     * the given number of rows at a time. Must be consumed and closed inside a transaction.
+     */
+    Stream<BookingViewDto> streamAllByState(BookingRole role, Long userId, BookingState state, LocalDateTime time,
+                                            int fetchSize);
+
+    /**
+     * Up to size bookings of the user in the role, newest first, that come right after the cursor, or the first
+     * ones when there is no cursor.
+     */
+    List<BookingViewDto> findAllAfter(BookingRole role, Long userId, BookingState state, LocalDateTime time,
+                                      BookingCursor after, int size);
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.booking.db.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Booking lists without a COUNT query: offset pages and exports read through the statements of
+ * {@link BookingQueries}, and seek pagination on (start desc, id desc) starts the next page right after the cursor,
+ * without an OFFSET.
+ */
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private static final String FETCH_SIZE = "org.hibernate.fetchSize";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingViewDto> findAllByState(BookingRole role, Long userId, BookingState state, LocalDateTime time,
+                                               Pageable pageable) {
+        return byState(role, userId, state, time)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingViewDto> streamAllByState(BookingRole role, Long userId, BookingState state,
+                                                   LocalDateTime time, int fetchSize) {
+        return byState(role, userId, state, time)
+                .setHint(FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<BookingViewDto> findAllAfter(BookingRole role, Long userId, BookingState state, LocalDateTime time,
+                                             BookingCursor after, int size) {
+        if (after == null) {
+            return byState(role, userId, state, time)
+                    .setMaxResults(size)
+                    .getResultList();
+        }
+        return withParameters(entityManager.createQuery(BookingQueries.byStateAfter(role, state),
+                BookingViewDto.class), userId, state, time)
+                .setParameter("afterStart", after.getStart())
+                .setParameter("afterId", after.getId())
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private TypedQuery<BookingViewDto> byState(BookingRole role, Long userId, BookingState state, LocalDateTime time) {
+        return withParameters(entityManager.createQuery(BookingQueries.byState(role, state), BookingViewDto.class),
+                userId, state, time);
+    }
+
+    private static TypedQuery<BookingViewDto> withParameters(TypedQuery<BookingViewDto> query, Long userId,
+                                                             BookingState state, LocalDateTime time) {
+        query.setParameter("userId", userId);
+        if (state.isTimeBound()) {
+            query.setParameter("time", time);
+        }
+        if (state.getStatus() != null) {
+            query.setParameter("status", state.getStatus());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+
+/**
+ * Outcome of one entry of a batch request, in the order of the request: the booking and its status,
+ * or the reason the entry was skipped.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private final Long bookingId;
+    private final BookingStatus status;
+    private final String error;
+
+    public static BookingBatchResultDto ok(Long bookingId, BookingStatus status) {
+        return new BookingBatchResultDto(bookingId, status, null);
+    }
+
+    public static BookingBatchResultDto failed(Long bookingId, String error) {
+        return new BookingBatchResultDto(bookingId, null, error);
+    }
+}
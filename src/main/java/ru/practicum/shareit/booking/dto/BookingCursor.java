@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.global.exception.BadPageRequestException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position after the last booking of the previous page, written as {@code <start>,<id>}.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingCursor {
+    private LocalDateTime start;
+    private Long id;
+
+    public static BookingCursor parse(String after) {
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw new BadPageRequestException(String.format("Bad cursor after = %s", after));
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(after.substring(0, separator).trim()),
+                    Long.parseLong(after.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BadPageRequestException(String.format("Bad cursor after = %s", after));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + "," + id;
+    }
+}
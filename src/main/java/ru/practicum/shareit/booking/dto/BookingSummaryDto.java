@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+
+/**
+ * Number of bookings in each state, as the booking lists would show them.
+ */
+@Getter
+public class BookingSummaryDto {
+    private final long all;
+    private final long current;
+    private final long past;
+    private final long future;
+    private final long waiting;
+    private final long rejected;
+
+    /**
+     * Sums over no rows are null, so missing counts are zero.
+     */
+    public BookingSummaryDto(Long all, Long current, Long past, Long future, Long waiting, Long rejected) {
+        this.all = valueOf(all);
+        this.current = valueOf(current);
+        this.past = valueOf(past);
+        this.future = valueOf(future);
+        this.waiting = valueOf(waiting);
+        this.rejected = valueOf(rejected);
+    }
+
+    private static long valueOf(Long count) {
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only row of a booking with its item, item owner and booker, selected without loading entities.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingViewDto {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Long itemId;
+    private String itemName;
+    private String itemDescription;
+    private Boolean itemAvailable;
+    private Long itemRequestId;
+    private Long ownerId;
+    private String ownerName;
+    private String ownerEmail;
+    private Long bookerId;
+    private String bookerName;
+    private String bookerEmail;
+}
@@ -7,6 +7,7 @@ import ru.practicum.shareit.global.mapper.EntityMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.db.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.item.db.repository.ItemRepository;
 import ru.practicum.shareit.user.db.repository.UserRepository;
 
@@ -14,10 +15,24 @@ import ru.practicum.shareit.user.db.repository.UserRepository;
 public interface BookingMapper {
     @Mapping(target = "item", source = "dto.itemId", qualifiedBy = EntityMapper.class)
     @Mapping(target = "booker", source = "dto.bookerId", qualifiedBy = EntityMapper.class)
+    @Mapping(target = "itemOwnerId", ignore = true)
     Booking toBooking(BookingRequestDto dto);
 
     BookingResponseDto toBookingDto(Booking booking);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "item.description", source = "itemDescription")
+    @Mapping(target = "item.available", source = "itemAvailable")
+    @Mapping(target = "item.requestId", source = "itemRequestId")
+    @Mapping(target = "item.owner.id", source = "ownerId")
+    @Mapping(target = "item.owner.name", source = "ownerName")
+    @Mapping(target = "item.owner.email", source = "ownerEmail")
+    @Mapping(target = "booker.id", source = "bookerId")
+    @Mapping(target = "booker.name", source = "bookerName")
+    @Mapping(target = "booker.email", source = "bookerEmail")
+    BookingResponseDto toBookingDto(BookingViewDto view);
+
     @Mapping(target = "bookerId", source = "booker.id")
     @Mapping(target = "itemId", source = "item.id")
     @Mapping(target = "start", source = "start")
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 
 import java.util.List;
 
@@ -12,7 +16,26 @@ public interface BookingService {
 
     List<BookingResponseDto> getAllByOwner(Long userId, String state, Integer from, Integer size);
 
+    List<BookingResponseDto> getAllByStateAfter(Long userId, String state, String after, Integer size);
+
+    List<BookingResponseDto> getAllByOwnerAfter(Long userId, String state, String after, Integer size);
+
+    /**
+     * Checks the request and returns the body that writes the bookings as NDJSON when the response is streamed.
+     */
+    StreamingResponseBody exportAllByState(Long userId, String state);
+
+    StreamingResponseBody exportAllByOwner(Long userId, String state);
+
+    BookingSummaryDto getSummary(Long userId);
+
+    BookingSummaryDto getOwnerSummary(Long userId);
+
     BookingResponseDto save(BookingRequestDto bookingDto);
 
+    List<BookingBatchResultDto> saveAll(Long bookerId, List<BookingRequestDto> bookingDtos);
+
     BookingResponseDto changeStatus(Long userId, Long bookingId, Boolean approved);
+
+    List<BookingBatchResultDto> changeStatuses(Long userId, List<BookingStatusChangeDto> changes);
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private Long bookingId;
+    private Long itemId;
+}
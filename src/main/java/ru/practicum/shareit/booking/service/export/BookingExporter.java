@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Writes booking histories as NDJSON, one booking per line in the format of the booking lists, newest first.
+ * Rows are read as projections through a forward-only cursor, so nothing piles up in the persistence context
+ * and memory use does not depend on the length of the history.
+ */
+@Component
+public class BookingExporter {
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectWriter writer;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public BookingExporter(BookingRepository bookingRepository,
+                           BookingMapper bookingMapper,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${shareit.booking.export.fetch-size:500}") int fetchSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.writer = objectMapper.writer();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * The body runs after the request thread has returned, so it reads in a transaction of its own.
+     */
+    public StreamingResponseBody export(BookingRole role, Long userId, BookingState state, LocalDateTime time) {
+        return out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<BookingViewDto> bookings = bookingRepository.streamAllByState(role, userId, state, time,
+                        fetchSize)) {
+                    bookings.forEach(booking -> writeLine(buffered, booking));
+                }
+            });
+            buffered.flush();
+        };
+    }
+
+    private void writeLine(OutputStream out, BookingViewDto booking) {
+        try {
+            out.write(writer.writeValueAsBytes(bookingMapper.toBookingDto(booking)));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,42 +2,71 @@ package ru.practicum.shareit.booking.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
 import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.service.export.BookingExporter;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.global.concurrency.ItemLocks;
+import ru.practicum.shareit.global.concurrency.RetryOnConflict;
 import ru.practicum.shareit.global.exception.*;
+import ru.practicum.shareit.global.metrics.QueryBudget;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.user.db.model.User;
+import ru.practicum.shareit.user.db.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.global.utility.PageableConverter.getPageable;
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.afterCommit;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
     private final UserService userService;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemLocks itemLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final BookingExporter bookingExporter;
 
     @Override
     public BookingResponseDto getById(Long userId, Long bookingId) {
         log.info("request to get a booking with id = {}.", bookingId);
         Booking booking = bookingRepository.getReferenceById(bookingId);
-        if ((!booking.getItem().getOwner().getId().equals(userId)) && (!booking.getBooker().getId().equals(userId))) {
+        if ((!booking.getItemOwnerId().equals(userId)) && (!booking.getBooker().getId().equals(userId))) {
             throw new NotItemOwnerException(String.format("user with id = %d does not own booking with id = %d.",
                     userId, booking.getId()));
         }
@@ -45,75 +74,70 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @QueryBudget(2)
     public List<BookingResponseDto> getAllByState(Long userId, String state, Integer from, Integer size) {
         log.info("request to get all bookings by state = {}.", state);
-        userService.getById(userId);
-        LocalDateTime time = LocalDateTime.now();
-        Page<Booking> bookings;
-        Pageable pageable = getPageable(from, size, Sort.Direction.DESC, "start");
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findAllByBookerId(userId, pageable);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findCurrent(userId, time, pageable);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findBookingsByBookerIdAndEndIsBefore(userId, time, pageable);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findBookingsByBookerIdAndStartAfter(userId, time, pageable);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findBookingsByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findBookingsByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            default:
-                throw new BadStateException(String.format("Unknown state: %s", state));
-        }
-        return bookings.stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        checkUserExists(userId);
+        return findAllByState(BookingRole.BOOKER, userId, state, from, size);
     }
 
     @Override
+    @QueryBudget(2)
     public List<BookingResponseDto> getAllByOwner(Long userId, String state, Integer from, Integer size) {
         log.info("request to receive all bookings by state = {} from item owner = {}.", state, userId);
-        userService.getById(userId);
-        LocalDateTime time = LocalDateTime.now();
-        Page<Booking> bookings;
-        Pageable pageable = getPageable(from, size, Sort.Direction.DESC, "start");
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findByOwnerId(userId, pageable);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findCurrentByOwnerId(userId, time, pageable);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findPastByOwnerId(userId, time, pageable);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findFutureByOwnerId(userId, time, pageable);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findByOwnerIdAndByStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findByOwnerIdAndByStatus(userId, BookingStatus.WAITING, pageable);
-                break;
-            default:
-                throw new BadStateException(String.format("Unknown state: %s", state));
-        }
-        return bookings.stream()
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        checkUserExists(userId);
+        return findAllByState(BookingRole.OWNER, userId, state, from, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getAllByStateAfter(Long userId, String state, String after, Integer size) {
+        log.info("request to get bookings by state = {} after {}.", state, after);
+        checkUserExists(userId);
+        return findAllAfter(BookingRole.BOOKER, userId, state, after, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getAllByOwnerAfter(Long userId, String state, String after, Integer size) {
+        log.info("request to receive bookings by state = {} from item owner = {} after {}.", state, userId, after);
+        checkUserExists(userId);
+        return findAllAfter(BookingRole.OWNER, userId, state, after, size);
+    }
+
+    @Override
+    public StreamingResponseBody exportAllByState(Long userId, String state) {
+        log.info("request to export bookings by state = {}.", state);
+        BookingState bookingState = BookingState.from(state);
+        checkUserExists(userId);
+        return bookingExporter.export(BookingRole.BOOKER, userId, bookingState, LocalDateTime.now());
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public StreamingResponseBody exportAllByOwner(Long userId, String state) {
+        log.info("request to export bookings by state = {} from item owner = {}.", state, userId);
+        BookingState bookingState = BookingState.from(state);
+        checkUserExists(userId);
+        return bookingExporter.export(BookingRole.OWNER, userId, bookingState, LocalDateTime.now());
+    }
+
+    @Override
+    @QueryBudget(2)
+    public BookingSummaryDto getSummary(Long userId) {
+        log.info("request to count bookings by state of user with id = {}.", userId);
+        checkUserExists(userId);
+        return bookingRepository.getSummaryByBookerId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @QueryBudget(2)
+    public BookingSummaryDto getOwnerSummary(Long userId) {
+        log.info("request to count bookings by state from item owner = {}.", userId);
+        checkUserExists(userId);
+        return bookingRepository.getSummaryByOwnerId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @RetryOnConflict
+    @Transactional
     public BookingResponseDto save(BookingRequestDto bookingDto) {
         log.info("request to save a booking {}.", bookingDto);
         if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
@@ -135,22 +159,77 @@ public class BookingServiceImpl implements BookingService {
             throw new NotItemOwnerException(String.format("user with id = %d cannot book their item.",
                     booking.getBooker().getId()));
         }
-        if (!bookingRepository.findFreeInterval(booking.getItem().getId(), booking.getStart(), booking.getEnd())
-                .isEmpty()) {
+        itemLocks.lock(booking.getItem().getId());
+        if (bookingIntervalIndex.hasOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
             throw new NotItemAvailableException("item cannot be booked for these dates.");
         }
+        booking.setItemOwnerId(booking.getItem().getOwner().getId());
         booking.setStatus(BookingStatus.WAITING);
         Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(savedBooking.getId(), savedBooking.getItem().getId()));
         log.info("booking with id = {} is saved {}.", savedBooking.getId(), savedBooking);
         return bookingMapper.toBookingDto(savedBooking);
     }
 
+    /**
+     * Saves the bookings of one booker in one transaction: the items are loaded in one query, each entry is
+     * checked against the approved intervals in memory and the entries are swept per item for overlaps with
+     * each other, where the one that starts first wins. An entry that cannot be saved is reported and does not
+     * fail the others.
+     */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @RetryOnConflict
+    @Transactional
+    public List<BookingBatchResultDto> saveAll(Long bookerId, List<BookingRequestDto> bookingDtos) {
+        log.info("request to save {} bookings of user with id = {}.", bookingDtos.size(), bookerId);
+        checkBatchSize(bookingDtos.size());
+        checkUserExists(bookerId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingRequestDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllById(itemIds).forEach(item -> items.put(item.getId(), item));
+        }
+        itemLocks.lock(items.keySet());
+        String[] errors = new String[bookingDtos.size()];
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingRequestDto bookingDto = bookingDtos.get(i);
+            Item item = bookingDto == null ? null : items.get(bookingDto.getItemId());
+            errors[i] = checkBooking(bookerId, bookingDto, item);
+        }
+        markOverlapsInBatch(bookingDtos, errors);
+        User booker = userRepository.getReferenceById(bookerId);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            if (errors[i] == null) {
+                bookings.add(toBooking(bookingDtos.get(i), items.get(bookingDtos.get(i).getItemId()), booker));
+            }
+        }
+        Iterator<Booking> savedBookings = bookingRepository.saveAll(bookings).iterator();
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        for (String error : errors) {
+            if (error == null) {
+                Booking booking = savedBookings.next();
+                eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), booking.getItem().getId()));
+                results.add(BookingBatchResultDto.ok(booking.getId(), booking.getStatus()));
+            } else {
+                results.add(BookingBatchResultDto.failed(null, error));
+            }
+        }
+        log.info("{} of {} bookings of user with id = {} are saved.", bookings.size(), bookingDtos.size(), bookerId);
+        return results;
+    }
+
+    @Override
+    @RetryOnConflict
+    @Transactional
     public BookingResponseDto changeStatus(Long userId, Long bookingId, Boolean isApproved) {
         log.info("request to status change a booking with id = {}.", bookingId);
         Booking booking = bookingRepository.getReferenceById(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
+        if (!booking.getItemOwnerId().equals(userId)) {
             throw new NotItemOwnerException(String.format("user with id = %d does not own booking with id = %d.",
                     userId, booking.getId()));
         }
@@ -159,11 +238,223 @@ public class BookingServiceImpl implements BookingService {
             throw new BadApproveStatusException("booking status has already been confirmed");
         }
         if (isApproved) {
+            Long itemId = booking.getItem().getId();
+            LocalDateTime start = booking.getStart();
+            LocalDateTime end = booking.getEnd();
+            Map<Long, List<BookingIntervalDto>> approvedByItem = lockApprovedIntervals(Set.of(itemId), start);
+            if (bookingIntervalIndex.hasOverlap(itemId, start, end)
+                    || overlaps(approvedByItem.get(itemId), start, end)) {
+                throw new NotItemAvailableException("item is already booked for these dates.");
+            }
             booking.setStatus(BookingStatus.APPROVED);
+            afterCommit(() -> bookingIntervalIndex.add(itemId, start, end));
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingId, booking.getItem().getId()));
         log.info("booking with id = {} status changed to {}.", bookingId, booking.getStatus());
         return bookingMapper.toBookingDto(bookingRepository.save(booking));
     }
+
+    /**
+     * Applies the changes in one transaction: bookings are checked for ownership in one query, and approvals are
+     * checked against the approved intervals and against each other in memory, so the dirty bookings are flushed
+     * as one JDBC batch of updates. An entry that cannot be applied is reported and does not fail the others.
+     */
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public List<BookingBatchResultDto> changeStatuses(Long userId, List<BookingStatusChangeDto> changes) {
+        log.info("request to status change {} bookings from item owner = {}.", changes.size(), userId);
+        checkBatchSize(changes.size());
+        Set<Long> bookingIds = changes.stream()
+                .filter(Objects::nonNull)
+                .map(BookingStatusChangeDto::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = new HashMap<>();
+        if (!bookingIds.isEmpty()) {
+            bookingRepository.findAllByIdsAndOwnerId(bookingIds, userId)
+                    .forEach(booking -> bookings.put(booking.getId(), booking));
+        }
+        List<Booking> approvals = changes.stream()
+                .filter(change -> change != null && Boolean.TRUE.equals(change.getApproved()))
+                .map(change -> bookings.get(change.getBookingId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<Long, List<BookingIntervalDto>> approvedByItem = lockApprovedIntervals(approvals.stream()
+                        .map(booking -> booking.getItem().getId())
+                        .collect(Collectors.toSet()),
+                approvals.stream()
+                        .map(Booking::getStart)
+                        .min(Comparator.naturalOrder())
+                        .orElse(null));
+        List<BookingBatchResultDto> results = new ArrayList<>(changes.size());
+        for (BookingStatusChangeDto change : changes) {
+            Booking booking = change == null ? null : bookings.get(change.getBookingId());
+            results.add(changeStatus(userId, change, booking, approvedByItem));
+        }
+        log.info("status of bookings changed {}.", results.stream()
+                .filter(result -> result.getError() == null)
+                .map(BookingBatchResultDto::getBookingId)
+                .collect(Collectors.toList()));
+        return results;
+    }
+
+    private BookingBatchResultDto changeStatus(Long userId, BookingStatusChangeDto change, Booking booking,
+                                               Map<Long, List<BookingIntervalDto>> approvedByItem) {
+        if (change == null) {
+            return BookingBatchResultDto.failed(null, "status change must not be null.");
+        }
+        Long bookingId = change.getBookingId();
+        if (bookingId == null || change.getApproved() == null) {
+            return BookingBatchResultDto.failed(bookingId, "bookingId and approved must not be null.");
+        }
+        if (booking == null) {
+            return BookingBatchResultDto.failed(bookingId, String.format(
+                    "user with id = %d does not own booking with id = %d.", userId, bookingId));
+        }
+        if (booking.getStatus().equals(BookingStatus.APPROVED) ||
+                booking.getStatus().equals(BookingStatus.REJECTED)) {
+            return BookingBatchResultDto.failed(bookingId, "booking status has already been confirmed");
+        }
+        Long itemId = booking.getItem().getId();
+        if (change.getApproved()) {
+            LocalDateTime start = booking.getStart();
+            LocalDateTime end = booking.getEnd();
+            List<BookingIntervalDto> approved = approvedByItem.computeIfAbsent(itemId, id -> new ArrayList<>());
+            if (bookingIntervalIndex.hasOverlap(itemId, start, end) || overlaps(approved, start, end)) {
+                return BookingBatchResultDto.failed(bookingId, "item is already booked for these dates.");
+            }
+            approved.add(new BookingIntervalDto(itemId, start, end));
+            booking.setStatus(BookingStatus.APPROVED);
+            afterCommit(() -> bookingIntervalIndex.add(itemId, start, end));
+        } else {
+            booking.setStatus(BookingStatus.REJECTED);
+        }
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingId, itemId));
+        return BookingBatchResultDto.ok(bookingId, booking.getStatus());
+    }
+
+    /**
+     * Takes the in-process locks and the row locks of the items, then reads their approved intervals that end
+     * at or after the time. The index only knows the approvals of this instance; under the row locks the table
+     * also shows the approvals committed by other instances, and no new ones can commit until this transaction
+     * ends.
+     */
+    private Map<Long, List<BookingIntervalDto>> lockApprovedIntervals(Set<Long> itemIds, LocalDateTime time) {
+        itemLocks.lock(itemIds);
+        if (itemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        itemRepository.lockAllById(itemIds);
+        return bookingRepository.findApprovedIntervalsEndingAfter(itemIds, time).stream()
+                .collect(Collectors.groupingBy(BookingIntervalDto::getItemId, HashMap::new, Collectors.toList()));
+    }
+
+    private static boolean overlaps(List<BookingIntervalDto> intervals, LocalDateTime start, LocalDateTime end) {
+        return intervals != null && intervals.stream()
+                .anyMatch(other -> !start.isAfter(other.getEnd()) && !end.isBefore(other.getStart()));
+    }
+
+    private String checkBooking(Long bookerId, BookingRequestDto bookingDto, Item item) {
+        if (bookingDto == null) {
+            return "booking must not be null.";
+        }
+        Set<ConstraintViolation<BookingRequestDto>> violations = validator.validate(bookingDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (bookingDto.getEnd().isBefore(bookingDto.getStart())) {
+            return String.format("end date (%s) should be later than start date (%s).",
+                    bookingDto.getStart(), bookingDto.getEnd());
+        }
+        if (item == null) {
+            return String.format("item with id = %d not found.", bookingDto.getItemId());
+        }
+        if (!item.getAvailable()) {
+            return String.format("item with id = %d is not available for booking.", item.getId());
+        }
+        if (item.getOwner().getId().equals(bookerId)) {
+            return String.format("user with id = %d cannot book their item.", bookerId);
+        }
+        if (bookingIntervalIndex.hasOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            return "item cannot be booked for these dates.";
+        }
+        return null;
+    }
+
+    /**
+     * Sorts the entries that passed the checks by start per item and rejects each one that starts before the
+     * kept ones end.
+     */
+    private void markOverlapsInBatch(List<BookingRequestDto> bookingDtos, String[] errors) {
+        Map<Long, List<Integer>> indexesByItem = new HashMap<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            if (errors[i] == null) {
+                indexesByItem.computeIfAbsent(bookingDtos.get(i).getItemId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        for (List<Integer> indexes : indexesByItem.values()) {
+            indexes.sort(Comparator.comparing((Integer i) -> bookingDtos.get(i).getStart())
+                    .thenComparing(Comparator.naturalOrder()));
+            LocalDateTime keptEnd = null;
+            for (Integer i : indexes) {
+                BookingRequestDto bookingDto = bookingDtos.get(i);
+                if (keptEnd != null && !bookingDto.getStart().isAfter(keptEnd)) {
+                    errors[i] = "booking overlaps another booking of the same item in the batch.";
+                } else {
+                    keptEnd = bookingDto.getEnd();
+                }
+            }
+        }
+    }
+
+    private Booking toBooking(BookingRequestDto bookingDto, Item item, User booker) {
+        Booking booking = new Booking();
+        booking.setStart(bookingDto.getStart());
+        booking.setEnd(bookingDto.getEnd());
+        booking.setItem(item);
+        booking.setItemOwnerId(item.getOwner().getId());
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BadBatchRequestException(String.format("batch of %d entries exceeds the limit of %d.",
+                    size, MAX_BATCH_SIZE));
+        }
+    }
+
+    private List<BookingResponseDto> findAllByState(BookingRole role, Long userId, String state, Integer from,
+                                                    Integer size) {
+        BookingState bookingState = BookingState.from(state);
+        Pageable pageable = getPageable(from, size);
+        return bookingRepository.findAllByState(role, userId, bookingState, LocalDateTime.now(), pageable).stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<BookingResponseDto> findAllAfter(BookingRole role, Long userId, String state, String after,
+                                                  Integer size) {
+        BookingState bookingState = BookingState.from(state);
+        if (size <= 0) {
+            throw new BadPageRequestException(String.format("Bad pageable request size = %d", size));
+        }
+        BookingCursor cursor = BookingCursor.parse(after);
+        return bookingRepository.findAllAfter(role, userId, bookingState, LocalDateTime.now(), cursor, size).stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userService.exists(userId)) {
+            throw new NotFoundException(String.format("user with id = %d not found.", userId));
+        }
+    }
 }
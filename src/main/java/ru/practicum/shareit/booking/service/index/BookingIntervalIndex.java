@@ -0,0 +1,223 @@
+package ru.practicum.shareit.booking.service.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of approved booking intervals per item, used instead of a range scan on every booking attempt.
+ * Only intervals that have not ended are kept: new bookings start in the future, so ended ones never overlap them,
+ * and the scheduled check drops the intervals that ended since the previous one. Every {@link #add} stamps the item with a new generation, and reloading from the table leaves alone the items
+ * changed after the table was read, so an approval that commits during a reload is never overwritten.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final Map<Long, Intervals> intervalsByItem = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generationByItem = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reload();
+        log.info("booking interval index is rebuilt for {} items.", intervalsByItem.size());
+    }
+
+    public boolean hasOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Intervals intervals = intervalsByItem.get(itemId);
+        return intervals != null && intervals.overlaps(start, end);
+    }
+
+    public void add(Long itemId, LocalDateTime start, LocalDateTime end) {
+        intervalsByItem.compute(itemId, (id, intervals) -> {
+            generationByItem.put(id, generation.incrementAndGet());
+            return intervals == null ? Intervals.of(start, end) : intervals.with(start, end);
+        });
+    }
+
+    /**
+     * Drops the ended intervals, compares the index with the bookings table and replaces the entries of items that
+     * differ.
+     *
+     * @return ids of the items whose entries were out of date
+     */
+    @Scheduled(initialDelayString = "${shareit.booking.interval-index.check-delay-ms:600000}",
+            fixedDelayString = "${shareit.booking.interval-index.check-delay-ms:600000}")
+    public Set<Long> checkConsistency() {
+        Set<Long> inconsistent = reload();
+        if (!inconsistent.isEmpty()) {
+            log.warn("booking interval index was out of date for items {}.", inconsistent);
+        }
+        return inconsistent;
+    }
+
+    /**
+     * Replaces the entries that differ from the not ended intervals of the table, except for the items added to
+     * since the table was read, whose ended intervals are only dropped. The comparison and the replacement of an
+     * item run under the map lock of the item, as {@link #add} does.
+     */
+    private Set<Long> reload() {
+        long loadedAt = generation.get();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Intervals> actual = load(now);
+        Set<Long> itemIds = new HashSet<>(actual.keySet());
+        itemIds.addAll(intervalsByItem.keySet());
+        Set<Long> inconsistent = new ConcurrentSkipListSet<>();
+        for (Long itemId : itemIds) {
+            intervalsByItem.compute(itemId, (id, current) -> {
+                Intervals notEnded = current == null ? null : current.endingNotBefore(now);
+                if (generationByItem.getOrDefault(id, 0L) > loadedAt
+                        || Objects.equals(actual.get(id), notEnded)) {
+                    return notEnded;
+                }
+                inconsistent.add(id);
+                return actual.get(id);
+            });
+        }
+        return inconsistent;
+    }
+
+    private Map<Long, Intervals> load(LocalDateTime now) {
+        Map<Long, List<BookingIntervalDto>> grouped = new HashMap<>();
+        for (BookingIntervalDto interval : bookingRepository.findApprovedIntervalsEndingAfter(now)) {
+            grouped.computeIfAbsent(interval.getItemId(), id -> new ArrayList<>()).add(interval);
+        }
+        Map<Long, Intervals> loaded = new ConcurrentHashMap<>();
+        grouped.forEach((itemId, intervals) -> loaded.put(itemId, Intervals.of(intervals)));
+        return loaded;
+    }
+
+    /**
+     * Immutable intervals of one item sorted by start, with a running maximum of the end dates.
+     */
+    private static final class Intervals {
+        private static final Comparator<BookingIntervalDto> ORDER = Comparator
+                .comparing(BookingIntervalDto::getStart)
+                .thenComparing(BookingIntervalDto::getEnd);
+
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+        private final LocalDateTime[] maxEnds;
+
+        private Intervals(LocalDateTime[] starts, LocalDateTime[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = new LocalDateTime[ends.length];
+            for (int i = 0; i < ends.length; i++) {
+                maxEnds[i] = (i == 0 || ends[i].isAfter(maxEnds[i - 1])) ? ends[i] : maxEnds[i - 1];
+            }
+        }
+
+        static Intervals of(LocalDateTime start, LocalDateTime end) {
+            return new Intervals(new LocalDateTime[]{start}, new LocalDateTime[]{end});
+        }
+
+        static Intervals of(List<BookingIntervalDto> intervals) {
+            intervals.sort(ORDER);
+            LocalDateTime[] starts = new LocalDateTime[intervals.size()];
+            LocalDateTime[] ends = new LocalDateTime[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                starts[i] = intervals.get(i).getStart();
+                ends[i] = intervals.get(i).getEnd();
+            }
+            return new Intervals(starts, ends);
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            int last = lastStartingNotAfter(end);
+            return last >= 0 && !maxEnds[last].isBefore(start);
+        }
+
+        Intervals with(LocalDateTime start, LocalDateTime end) {
+            int position = 0;
+            while (position < starts.length && (starts[position].isBefore(start)
+                    || (starts[position].isEqual(start) && !ends[position].isAfter(end)))) {
+                position++;
+            }
+            LocalDateTime[] newStarts = new LocalDateTime[starts.length + 1];
+            LocalDateTime[] newEnds = new LocalDateTime[ends.length + 1];
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            newStarts[position] = start;
+            newEnds[position] = end;
+            System.arraycopy(starts, position, newStarts, position + 1, starts.length - position);
+            System.arraycopy(ends, position, newEnds, position + 1, ends.length - position);
+            return new Intervals(newStarts, newEnds);
+        }
+
+        /**
+         * Intervals ending at or after the time, or null when all of them have ended.
+         */
+        Intervals endingNotBefore(LocalDateTime time) {
+            int kept = 0;
+            for (LocalDateTime end : ends) {
+                if (!end.isBefore(time)) {
+                    kept++;
+                }
+            }
+            if (kept == ends.length) {
+                return this;
+            }
+            if (kept == 0) {
+                return null;
+            }
+            LocalDateTime[] newStarts = new LocalDateTime[kept];
+            LocalDateTime[] newEnds = new LocalDateTime[kept];
+            int position = 0;
+            for (int i = 0; i < ends.length; i++) {
+                if (!ends[i].isBefore(time)) {
+                    newStarts[position] = starts[i];
+                    newEnds[position] = ends[i];
+                    position++;
+                }
+            }
+            return new Intervals(newStarts, newEnds);
+        }
+
+        private int lastStartingNotAfter(LocalDateTime time) {
+            int low = 0;
+            int high = starts.length - 1;
+            int result = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle].isAfter(time)) {
+                    high = middle - 1;
+                } else {
+                    result = middle;
+                    low = middle + 1;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Intervals)) {
+                return false;
+            }
+            Intervals other = (Intervals) o;
+            return Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+        }
+    }
+}
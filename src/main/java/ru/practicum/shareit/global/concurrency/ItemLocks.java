@@ -0,0 +1,71 @@
+package ru.practicum.shareit.global.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by item id. A lock is held until the current transaction completes,
+ * so writes for the same item are serialized while unrelated items rarely share a stripe.
+ * The locks cover one instance only; booking approvals also lock the item rows, which serializes them
+ * across instances.
+ */
+@Component
+public class ItemLocks {
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public ItemLocks(@Value("${shareit.concurrency.lock-stripes:256}") int stripeCount,
+                     @Value("${shareit.concurrency.lock-timeout-ms:5000}") long timeoutMs) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    public void lock(Long itemId) {
+        lock(List.of(itemId));
+    }
+
+    public void lock(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("item locks can only be taken inside a transaction.");
+        }
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        itemIds.forEach(itemId -> stripeIndexes.add(Math.floorMod(Long.hashCode(itemId), stripes.length)));
+        List<ReentrantLock> acquired = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+        for (Integer index : stripeIndexes) {
+            ReentrantLock stripe = stripes[index];
+            if (!tryLock(stripe)) {
+                throw new CannotAcquireLockException(String.format("lock for items %s is not acquired in %d ms.",
+                        itemIds, timeoutMs));
+            }
+            acquired.add(stripe);
+        }
+    }
+
+    private boolean tryLock(ReentrantLock stripe) {
+        try {
+            return stripe.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.global.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-runs methods annotated with {@link RetryOnConflict} when their transaction fails on an optimistic
+ * version check or a lock timeout. Ordered before the transaction interceptor so every attempt gets
+ * a new transaction.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RetryOnConflictAspect {
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public RetryOnConflictAspect(@Value("${shareit.concurrency.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${shareit.concurrency.retry.backoff-ms:20}") long backoffMs) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    @Around("@annotation(ru.practicum.shareit.global.concurrency.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    throw ex;
+                }
+                log.warn("conflict in {}, attempt {} of {}: {}", joinPoint.getSignature().toShortString(),
+                        attempt, maxAttempts, ex.getMessage());
+                Thread.sleep(backoffMs * attempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.global.exception;
+
+public class BadBatchRequestException extends RuntimeException {
+    public BadBatchRequestException(String message) {
+        super(message);
+    }
+}
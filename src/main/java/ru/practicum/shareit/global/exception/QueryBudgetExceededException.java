@@ -0,0 +1,7 @@
+package ru.practicum.shareit.global.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.global.execution;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * In the virtual execution mode Tomcat hands every request to a virtual thread instead of its worker pool,
+ * so {@code server.tomcat.threads.max} no longer applies and {@code server.tomcat.max-connections} bounds
+ * the requests in flight, while the connection pool keeps its own size.
+ * Only the async mode replaces the handler adapter; in the other modes controller methods are invoked
+ * synchronously by the default one.
+ */
+@Configuration
+public class ExecutionConfiguration {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsCustomizer(RequestExecutor requestExecutor) {
+        return protocolHandler -> {
+            if (requestExecutor.getVirtualThreadExecutor() != null) {
+                protocolHandler.setExecutor(requestExecutor.getVirtualThreadExecutor());
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcRegistrations offloadingRegistrations(RequestExecutor requestExecutor) {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return requestExecutor.getMode() == ExecutionMode.ASYNC
+                        ? new OffloadingHandlerAdapter(requestExecutor)
+                        : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.global.execution;
+
+import java.util.Locale;
+
+/**
+ * How controller methods are executed, chosen with {@code shareit.execution.mode}.
+ */
+public enum ExecutionMode {
+    /**
+     * On the Tomcat worker thread, which blocks on JDBC.
+     */
+    PLATFORM,
+    /**
+     * Tomcat serves every request on a virtual thread of its own; needs a JDK with virtual threads.
+     */
+    VIRTUAL,
+    /**
+     * Offloadable controller methods run on a bounded JDBC executor and free the Tomcat thread.
+     */
+    ASYNC;
+
+    public static ExecutionMode from(String mode) {
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown execution mode: " + mode, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.global.execution;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks controller methods that run on the JDBC executor of {@link RequestExecutor} in the async execution mode.
+ * In the other modes they are invoked as usual, on the thread that serves the request.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Offloaded {
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.global.execution;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Handler adapter of the async execution mode. Arguments of {@link Offloaded} methods are resolved on the Tomcat
+ * thread, then the method itself is handed to {@link RequestExecutor#supply}. Return values are handled by their
+ * runtime type, so the future is processed as an async result while the method keeps its synchronous signature.
+ */
+class OffloadingHandlerAdapter extends RequestMappingHandlerAdapter {
+    private final RequestExecutor requestExecutor;
+
+    OffloadingHandlerAdapter(RequestExecutor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (!handlerMethod.hasMethodAnnotation(Offloaded.class)) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+        return new ServletInvocableHandlerMethod(handlerMethod) {
+            @Override
+            protected Object doInvoke(Object... args) {
+                return requestExecutor.supply(() -> {
+                    try {
+                        return super.doInvoke(args);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.global.execution;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.global.metrics.SqlStatementCounter;
+import ru.practicum.shareit.global.metrics.SqlStatementMetricsInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of controller methods according to the execution mode.
+ * In the async mode {@link Offloaded} controller methods go to a fixed pool of JDBC threads, as many as
+ * the connection pool has connections by default, with a bounded queue in front of it: request concurrency
+ * is then limited by Tomcat connections and the queue, not by worker threads, and the pool size stays tuned
+ * for the database. A full queue rejects the request. In the other modes the methods are invoked as usual.
+ * The virtual mode falls back to the async one when the JDK has no virtual threads.
+ */
+@Slf4j
+@Component
+public class RequestExecutor implements DisposableBean {
+    private final ExecutionMode mode;
+    private final ExecutorService virtualThreadExecutor;
+    private final ThreadPoolExecutor jdbcExecutor;
+
+    public RequestExecutor(@Value("${shareit.execution.mode:platform}") String mode,
+                           @Value("${shareit.execution.jdbc-threads:${spring.datasource.hikari.maximum-pool-size:10}}")
+                           int jdbcThreads,
+                           @Value("${shareit.execution.queue-capacity:10000}") int queueCapacity) {
+        ExecutionMode requested = ExecutionMode.from(mode);
+        this.virtualThreadExecutor = requested == ExecutionMode.VIRTUAL ? newVirtualThreadExecutor() : null;
+        if (requested == ExecutionMode.VIRTUAL && virtualThreadExecutor == null) {
+            log.warn("virtual threads are not available on Java {}, falling back to the async execution mode.",
+                    System.getProperty("java.version"));
+            requested = ExecutionMode.ASYNC;
+        }
+        this.mode = requested;
+        this.jdbcExecutor = requested == ExecutionMode.ASYNC
+                ? new ThreadPoolExecutor(jdbcThreads, jdbcThreads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("jdbc-"))
+                : null;
+        log.info("controller methods run in the {} execution mode.", this.mode);
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Executor for Tomcat connections in the virtual mode, or null in the other modes.
+     */
+    public ExecutorService getVirtualThreadExecutor() {
+        return virtualThreadExecutor;
+    }
+
+    /**
+     * Statements the action runs on a JDBC thread are added to the SQL statement metrics of the request.
+     *
+     * @throws RejectedExecutionException when the queue of the JDBC executor is full
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> action) {
+        if (jdbcExecutor == null) {
+            return CompletableFuture.completedFuture(action.get());
+        }
+        HttpServletRequest request = currentRequest();
+        return CompletableFuture.supplyAsync(() -> {
+            long statements = SqlStatementCounter.current();
+            try {
+                return action.get();
+            } finally {
+                if (request != null) {
+                    request.setAttribute(SqlStatementMetricsInterceptor.OFFLOADED_STATEMENTS_ATTRIBUTE,
+                            SqlStatementCounter.current() - statements);
+                }
+            }
+        }, jdbcExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        if (jdbcExecutor != null) {
+            jdbcExecutor.shutdown();
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? ((ServletRequestAttributes) attributes).getRequest()
+                : null;
+    }
+
+    /**
+     * The project compiles for Java 11, so the factory of newer JDKs is looked up by reflection.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.global.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ import java.time.OffsetDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -41,7 +43,8 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
     }
 
     @ExceptionHandler({NotItemAvailableException.class, BadBookingDateException.class, BadPageRequestException.class,
-            BadApproveStatusException.class, BadStateException.class, NotItemBookedException.class})
+            BadApproveStatusException.class, BadStateException.class, NotItemBookedException.class,
+            BadBatchRequestException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     protected Map<String, Object> handleBadRequest(RuntimeException ex, WebRequest request) {
         log.error("Error: {}", ex.getMessage(), ex);
@@ -50,6 +53,24 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
         return responseBody;
     }
 
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    protected Map<String, Object> handleConflict(RuntimeException ex, WebRequest request) {
+        log.error("Error: {}", ex.getMessage(), ex);
+        Map<String, Object> responseBody = getGeneralErrorBody(HttpStatus.CONFLICT, request);
+        responseBody.put(ERROR, ex.getMessage());
+        return responseBody;
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    protected Map<String, Object> handleOverload(RuntimeException ex, WebRequest request) {
+        log.warn("Rejected: {}", ex.getMessage());
+        Map<String, Object> responseBody = getGeneralErrorBody(HttpStatus.SERVICE_UNAVAILABLE, request);
+        responseBody.put(ERROR, "too many requests in progress, try again later.");
+        return responseBody;
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     protected Map<String, Object> handleAllException(final Exception ex, WebRequest request) {
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.global.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.global.exception.QueryBudgetExceededException;
+
+/**
+ * Counts the SQL statements of methods annotated with {@link QueryBudget} and logs a warning when a call
+ * exceeds the budget, or fails the call when {@code shareit.query-budget.fail-on-exceed} is set, as the
+ * integration tests do. Ordered right after the retry aspect, so the count covers the commit of one attempt.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryBudgetAspect {
+    private final boolean failOnExceed;
+
+    public QueryBudgetAspect(@Value("${shareit.query-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Around("@annotation(budget)")
+    public Object check(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        long start = SqlStatementCounter.current();
+        Object result = joinPoint.proceed();
+        long statements = SqlStatementCounter.current() - start;
+        if (statements > budget.value()) {
+            String message = String.format("%s ran %d SQL statements, the budget is %d.",
+                    joinPoint.getSignature().toShortString(), statements, budget.value());
+            if (failOnExceed) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+}
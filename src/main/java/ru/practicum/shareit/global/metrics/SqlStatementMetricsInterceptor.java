@@ -0,0 +1,62 @@
+package ru.practicum.shareit.global.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of SQL statements each controller method runs per request, including the statements
+ * of work offloaded to another thread, which are passed in {@link #OFFLOADED_STATEMENTS_ATTRIBUTE}.
+ */
+@RequiredArgsConstructor
+public class SqlStatementMetricsInterceptor implements HandlerInterceptor {
+    static final String METRIC_NAME = "shareit.http.sql.statements";
+    public static final String OFFLOADED_STATEMENTS_ATTRIBUTE =
+            SqlStatementMetricsInterceptor.class.getName() + ".offloaded";
+    private static final String START_ATTRIBUTE = SqlStatementMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, SqlStatementCounter.current());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements per request")
+                .baseUnit("statements")
+                .tag("handler", handlerName(handler))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(SqlStatementCounter.current() - (Long) start + offloaded(request));
+    }
+
+    private static long offloaded(HttpServletRequest request) {
+        Object offloaded = request.getAttribute(OFFLOADED_STATEMENTS_ATTRIBUTE);
+        return offloaded == null ? 0 : (Long) offloaded;
+    }
+
+    /**
+     * Returns the controller method name, such as {@code BookingController.findBookingByState}.
+     */
+    static String handlerName(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return "none";
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
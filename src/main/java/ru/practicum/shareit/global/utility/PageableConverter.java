@@ -8,10 +8,17 @@ public class PageableConverter {
     private PageableConverter() {
     }
 
-    public static PageRequest getPageable(Integer from, Integer size, Sort.Direction direction, String properties) {
+    public static PageRequest getPageable(Integer from, Integer size, Sort.Direction direction, String... properties) {
+        return getPageable(from, size).withSort(direction, properties);
+    }
+
+    /**
+     * Unsorted page, for queries that fix their own order.
+     */
+    public static PageRequest getPageable(Integer from, Integer size) {
         if (from < 0 || size <= 0) {
             throw new BadPageRequestException(String.format("Bad pageable request from = %d, size = %d", from, size));
         }
-        return PageRequest.of((from / size), size, direction, properties);
+        return PageRequest.of((from / size), size);
     }
 }
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.item.controller;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.global.execution.Offloaded;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.InputStream;
 import java.util.List;
 
+@Timed(histogram = true)
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -32,6 +36,7 @@ public class ItemController {
         return itemService.getById(itemId, userId);
     }
 
+    @Offloaded
     @GetMapping(value = "/search")
     public List<ItemResponseDto> findItemByText(@RequestParam("text") String text,
                                                 @RequestParam(value = "from", required = false,
@@ -49,6 +54,12 @@ public class ItemController {
         return itemService.save(itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResultDto importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           InputStream body) {
+        return itemService.importItems(userId, body);
+    }
+
     @PostMapping(value = "/{itemId}/comment", consumes = MediaType.APPLICATION_JSON_VALUE)
     public CommentResponseDto createComment(@RequestHeader("X-Sharer-User-Id") Long userId,
                                             @PathVariable Long itemId,
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.dto.ItemSearchCacheStatsDto;
+import ru.practicum.shareit.item.dto.ItemSearchIndexDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+@RestController
+@RequestMapping("/admin/items")
+@RequiredArgsConstructor
+public class ItemSearchAdminController {
+    private final ItemService itemService;
+
+    @PostMapping("/search-index/rebuild")
+    public ItemSearchIndexDto rebuildSearchIndex() {
+        return itemService.rebuildSearchIndex();
+    }
+
+    @GetMapping("/search-cache/stats")
+    public ItemSearchCacheStatsDto getSearchCacheStats() {
+        return itemService.getSearchCacheStats();
+    }
+}
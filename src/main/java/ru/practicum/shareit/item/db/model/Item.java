@@ -8,13 +8,17 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "items")
+@NamedEntityGraph(name = Item.WITH_OWNER, attributeNodes = @NamedAttributeNode("owner"))
 @Getter
 @Setter
 @RequiredArgsConstructor
 @ToString
 public class Item {
+    public static final String WITH_OWNER = "Item.withOwner";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 70, nullable = false)
@@ -26,11 +30,16 @@ public class Item {
     @Column(name = "is_available", nullable = false)
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "owner_id", referencedColumnName = "id", nullable = false)
     private User owner;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "request_id", referencedColumnName = "id")
     private ItemRequest request;
+
+    @Version
+    private Long version;
 }
@@ -3,13 +3,13 @@ package ru.practicum.shareit.item.db.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.db.model.Comment;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findCommentsByItemId(Long itemId);
-
-    @Query("select c from Comment c " +
+    @Query("select new ru.practicum.shareit.item.dto.ItemCommentDto(c.item.id, c.id, c.text, c.author.name, c.created) " +
+            "from Comment c " +
             "where c.item.id in (:itemIds)")
-    List<Comment> findCommentsByItemIds(List<Long> itemIds);
+    List<ItemCommentDto> findCommentsByItemIds(List<Long> itemIds);
 }
@@ -2,17 +2,31 @@ package ru.practicum.shareit.item.db.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.global.mapper.EntityMapper;
 import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.dto.ItemForRequestResponseDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> getItemsByOwnerId(Long userId, Pageable pageable);
+    @Query("select new ru.practicum.shareit.item.dto.ItemViewDto(i.id, i.name, i.description, i.available, " +
+            "i.request.id, o.id, o.name, o.email) " +
+            "from Item i join i.owner o " +
+            "where o.id = :userId")
+    List<ItemViewDto> getItemsByOwnerId(Long userId, Pageable pageable);
 
+    @Override
+    @EntityGraph(Item.WITH_OWNER)
+    List<Item> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Item.WITH_OWNER)
     @Query("select i " +
             "from Item i " +
             "where i.available = true " +
@@ -20,12 +34,37 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "or lower(i.description) like concat('%', :text, '%'))")
     Page<Item> getByText(String text, Pageable pageable);
 
-    @Query("select i from Item i " +
+    /**
+     * Items whose name or description matches the bound LIKE pattern, with their owners joined in the same query.
+     */
+    @EntityGraph(Item.WITH_OWNER)
+    @Query("select i " +
+            "from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like :pattern or lower(i.description) like :pattern) " +
+            "order by i.id")
+    List<Item> findAvailableByPattern(String pattern, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemTextDto(i.id, i.name, i.description, i.available) " +
+            "from Item i")
+    List<ItemTextDto> findAllTexts();
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemForRequestResponseDto(i.id, i.name, i.description, " +
+            "i.available, i.owner.id, i.request.id) " +
+            "from Item i " +
             "where i.request.id in (:itemReqIds)")
-    List<Item> findItemsByRequestId(Set<Long> itemReqIds);
+    List<ItemForRequestResponseDto> findItemsByRequestId(Set<Long> itemReqIds);
 
     List<Item> getItemsByRequestId(Long requestId);
 
+    /**
+     * Locks the item rows until the transaction ends, so that writes for the same items are serialized
+     * across instances too. Rows are locked in id order to avoid deadlocks.
+     */
+    @Query(value = "select i.id from items i where i.id in (:itemIds) order by i.id for update",
+            nativeQuery = true)
+    List<Long> lockAllById(Collection<Long> itemIds);
+
     @EntityMapper
     Item getItemById(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of an items import: row counts, throughput and the errors of the first failed rows by line number.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemImportResultDto {
+    private final Long rows;
+    private final Long imported;
+    private final Long failed;
+    private final Long elapsedMs;
+    private final Double rowsPerSecond;
+    private final List<ItemImportErrorDto> errors;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemSearchCacheStatsDto {
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Long invalidations;
+    private Integer size;
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemSearchIndexDto {
+    private Integer indexedItems;
+}
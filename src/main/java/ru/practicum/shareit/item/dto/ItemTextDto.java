@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemTextDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+}
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.db.model.Comment;
 import ru.practicum.shareit.item.db.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.user.db.repository.UserRepository;
 
 @Mapper(componentModel = "spring", uses = {ItemRepository.class, UserRepository.class})
@@ -17,4 +18,6 @@ public interface CommentMapper {
 
     @Mapping(target = "authorName", source = "author.name")
     CommentResponseDto toCommentDto(Comment comment);
+
+    CommentResponseDto toCommentDto(ItemCommentDto dto);
 }
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.ItemForRequestResponseDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.db.model.Item;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 import ru.practicum.shareit.request.db.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.db.repository.UserRepository;
 
@@ -19,6 +20,11 @@ public interface ItemMapper {
     @Mapping(target = "requestId", source = "request.id")
     ItemResponseDto toItemDto(Item item);
 
+    @Mapping(target = "owner.id", source = "ownerId")
+    @Mapping(target = "owner.name", source = "ownerName")
+    @Mapping(target = "owner.email", source = "ownerEmail")
+    ItemResponseDto toItemDto(ItemViewDto view);
+
     @Mapping(target = "ownerId", source = "owner.id")
     @Mapping(target = "requestId", source = "request.id")
     @Mapping(target = "available", source = "available")
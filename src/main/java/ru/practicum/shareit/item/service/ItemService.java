@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ItemService {
@@ -16,4 +17,10 @@ public interface ItemService {
     ItemResponseDto change(Long userId, Long itemId, ItemPatchDto itemDto);
 
     CommentResponseDto saveComment(CommentRequestDto commentDto);
+
+    ItemImportResultDto importItems(Long userId, InputStream body);
+
+    ItemSearchIndexDto rebuildSearchIndex();
+
+    ItemSearchCacheStatsDto getSearchCacheStats();
 }
@@ -4,15 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.db.model.Booking;
 import ru.practicum.shareit.booking.db.repository.BookingRepository;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.global.concurrency.ItemLocks;
+import ru.practicum.shareit.global.concurrency.RetryOnConflict;
 import ru.practicum.shareit.global.exception.NotFoundException;
 import ru.practicum.shareit.global.exception.NotItemBookedException;
 import ru.practicum.shareit.global.exception.NotItemOwnerException;
-import ru.practicum.shareit.global.utility.PageableConverter;
+import ru.practicum.shareit.global.metrics.QueryBudget;
 import ru.practicum.shareit.item.db.model.Comment;
 import ru.practicum.shareit.item.db.model.Item;
 import ru.practicum.shareit.item.db.repository.CommentRepository;
@@ -21,12 +21,18 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.importer.ItemImporter;
+import ru.practicum.shareit.item.service.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.summary.ItemBookingSummary;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.global.utility.PageableConverter.getPageable;
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.afterCommit;
 
 @Service
 @Slf4j
@@ -37,10 +43,15 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemMapper itemMapper;
-    private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final ItemLocks itemLocks;
+    private final ItemBookingSummary itemBookingSummary;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemImporter itemImporter;
 
     @Override
+    @QueryBudget(3)
     public List<ItemResponseDto> getItems(Long userId, Integer from, Integer size) {
         log.info("request to get all user items with id = {}.", userId);
         List<ItemResponseDto> itemsDto = itemRepository.getItemsByOwnerId(userId,
@@ -50,7 +61,7 @@ public class ItemServiceImpl implements ItemService {
         List<Long> itemIds = itemsDto.stream()
                 .map(ItemResponseDto::getId)
                 .collect(Collectors.toList());
-        setBookingsList(itemsDto, itemIds);
+        setBookingsList(itemsDto);
         setCommentsList(itemsDto, itemIds);
         return itemsDto;
     }
@@ -67,25 +78,28 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @QueryBudget(4)
     public List<ItemResponseDto> getByText(String text, Integer from, Integer size) {
         log.info("items search request by text = {}.", text);
         if (text.isEmpty()) {
             return new ArrayList<>();
         }
-        List<ItemResponseDto> itemsDto = itemRepository.getByText(text.toLowerCase(),
-                        PageableConverter.getPageable(from, size, Sort.Direction.ASC, "id")).stream()
-                .map(itemMapper::toItemDto)
-                .collect(Collectors.toList());
-        List<Long> itemIds = itemsDto.stream()
-                .map(ItemResponseDto::getId)
-                .collect(Collectors.toList());
-        setBookingsList(itemsDto, itemIds);
-        setCommentsList(itemsDto, itemIds);
-        return itemsDto;
+        return itemSearchCache.get(text, from, size, () -> {
+            List<ItemResponseDto> itemsDto = itemSearchEngine.search(text,
+                            getPageable(from, size, Sort.Direction.ASC, "id")).stream()
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList());
+            List<Long> itemIds = itemsDto.stream()
+                    .map(ItemResponseDto::getId)
+                    .collect(Collectors.toList());
+            setBookingsList(itemsDto);
+            setCommentsList(itemsDto, itemIds);
+            return itemsDto;
+        });
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public ItemResponseDto save(ItemRequestDto itemDto) {
         log.info("request to save a item {}.", itemDto);
         Item item = itemMapper.toItem(itemDto);
@@ -93,18 +107,22 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException(String.format("user with id = %d not found.", itemDto.getOwnerId()));
         }
         Item savedItem = itemRepository.save(item);
+        indexAfterCommit(null, savedItem);
         log.info("item with id = {} is saved {}.", savedItem.getId(), savedItem);
         return itemMapper.toItemDto(savedItem);
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @RetryOnConflict
+    @Transactional
     public ItemResponseDto change(Long userId, Long itemId, ItemPatchDto itemDto) {
         log.info("request to change a item with id = {} to {}.", itemId, itemDto);
+        itemLocks.lock(itemId);
         Item dbItem = itemRepository.getReferenceById(itemId);
         if (!dbItem.getOwner().getId().equals(userId)) {
             throw new NotItemOwnerException(String.format("user with id = %d does not own item with id = %d.", userId, itemId));
         }
+        ItemTextDto itemTextBefore = toItemText(dbItem);
         if (itemDto.getName() != null) {
             dbItem.setName(itemDto.getName());
         }
@@ -114,7 +132,9 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             dbItem.setAvailable(itemDto.getAvailable());
         }
-        ItemResponseDto changedItem = itemMapper.toItemDto(itemRepository.save(dbItem));
+        Item savedItem = itemRepository.save(dbItem);
+        indexAfterCommit(itemTextBefore, savedItem);
+        ItemResponseDto changedItem = itemMapper.toItemDto(savedItem);
         setBookings(changedItem);
         setComments(changedItem);
         log.info("item with id = {} is changed {}.", changedItem.getId(), changedItem);
@@ -122,7 +142,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public CommentResponseDto saveComment(CommentRequestDto commentDto) {
         log.info("request to save a comment from user with id = {} to item with id = {}.",
                 commentDto.getAuthorId(), commentDto.getItemId());
@@ -141,54 +161,64 @@ public class ItemServiceImpl implements ItemService {
         }
         comment.setCreated(time);
         Comment savedComment = commentRepository.save(comment);
+        afterCommit(() -> itemSearchCache.invalidateItem(commentDto.getItemId()));
         log.info("user with id = {} is saved comment to item with id = {}.",
                 savedComment.getAuthor().getId(), savedComment.getItem().getId());
         return commentMapper.toCommentDto(savedComment);
     }
 
+    @Override
+    public ItemSearchIndexDto rebuildSearchIndex() {
+        log.info("request to rebuild the item search index.");
+        return new ItemSearchIndexDto(itemSearchEngine.rebuild());
+    }
+
+    /**
+     * Runs outside of a transaction, so that every chunk of the import commits on its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemImportResultDto importItems(Long userId, InputStream body) {
+        log.info("request to import items of user with id = {}.", userId);
+        return itemImporter.importItems(userId, body);
+    }
+
+    @Override
+    public ItemSearchCacheStatsDto getSearchCacheStats() {
+        return itemSearchCache.getStats();
+    }
+
+    private void indexAfterCommit(ItemTextDto itemTextBefore, Item item) {
+        ItemTextDto itemText = toItemText(item);
+        afterCommit(() -> {
+            itemSearchEngine.index(itemText);
+            itemSearchCache.invalidate(itemTextBefore, itemText);
+        });
+    }
+
+    private ItemTextDto toItemText(Item item) {
+        return new ItemTextDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+    }
+
     private void setBookings(ItemResponseDto itemDto) {
-        LocalDateTime time = LocalDateTime.now();
-        List<Booking> bookings = bookingRepository.findLastAndNextById(itemDto.getId(), time);
-        bookings.forEach(booking -> {
-                    if (booking.getStart().isAfter(time)) {
-                        itemDto.setNextBooking(bookingMapper.toBookingBookerDto(booking));
-                    }
-                    if (booking.getEnd().isBefore(time)) {
-                        itemDto.setLastBooking(bookingMapper.toBookingBookerDto(booking));
-                    }
-                });
+        itemBookingSummary.fill(List.of(itemDto));
     }
 
-    private void setBookingsList(List<ItemResponseDto> itemDtoList, List<Long> itemIds) {
-        LocalDateTime time = LocalDateTime.now();
-        List<Booking> bookings = bookingRepository.findLastAndNextByIdList(itemIds, time);
-        itemDtoList.forEach(itemDto -> bookings.forEach(booking -> {
-            if (booking.getItem().getId().equals(itemDto.getId()) && booking.getStart().isAfter(time)) {
-                itemDto.setNextBooking(bookingMapper.toBookingBookerDto(booking));
-            }
-            if (booking.getItem().getId().equals(itemDto.getId()) && booking.getEnd().isBefore(time)) {
-                itemDto.setLastBooking(bookingMapper.toBookingBookerDto(booking));
-            }
-        }));
+    private void setBookingsList(List<ItemResponseDto> itemDtoList) {
+        itemBookingSummary.fill(itemDtoList);
     }
 
     private void setComments(ItemResponseDto itemDto) {
-        List<CommentResponseDto> comments = commentRepository.findCommentsByItemId(itemDto.getId()).stream()
-                .map(commentMapper::toCommentDto)
-                .collect(Collectors.toList());
-        itemDto.setComments(comments);
+        setCommentsList(List.of(itemDto), List.of(itemDto.getId()));
     }
 
     private void setCommentsList(List<ItemResponseDto> itemDtoList, List<Long> itemIds) {
-        List<Comment> comments = commentRepository.findCommentsByItemIds(itemIds);
-        itemDtoList.forEach(itemDto -> {
-                    List<CommentResponseDto> commentsDto = new ArrayList<>();
-                    comments.forEach(comment -> {
-                        if (comment.getItem().getId().equals(itemDto.getId())) {
-                            commentsDto.add(commentMapper.toCommentDto(comment));
-                        }
-                    });
-                    itemDto.setComments(commentsDto);
-                });
+        Map<Long, List<CommentResponseDto>> commentsByItemId = new HashMap<>();
+        for (ItemCommentDto comment : commentRepository.findCommentsByItemIds(itemIds)) {
+            commentsByItemId.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>())
+                    .add(commentMapper.toCommentDto(comment));
+        }
+        itemDtoList.forEach(itemDto -> itemDto.setComments(
+                commentsByItemId.getOrDefault(itemDto.getId(), new ArrayList<>())));
     }
 }
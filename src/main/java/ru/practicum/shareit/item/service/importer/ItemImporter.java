@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.global.exception.NotFoundException;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+import ru.practicum.shareit.item.service.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.search.ItemSearchEngine;
+import ru.practicum.shareit.request.db.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.db.model.User;
+import ru.practicum.shareit.user.db.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.afterCommit;
+
+/**
+ * Imports items of one owner from NDJSON, one {@link ItemRequestDto} per line, reading the body as it arrives.
+ * Valid rows are inserted in chunks, each in a transaction of its own: request ids of a chunk are resolved
+ * in one query, the items go out as JDBC batches and the persistence context is cleared afterwards, so memory
+ * depends on the chunk size and the capped error report, not on the size of the body.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ObjectReader reader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ItemImporter(ItemRepository itemRepository,
+                        ItemRequestRepository itemRequestRepository,
+                        UserRepository userRepository,
+                        UserService userService,
+                        EntityManager entityManager,
+                        ItemSearchEngine itemSearchEngine,
+                        ItemSearchCache itemSearchCache,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${shareit.item.import.chunk-size:500}") int chunkSize,
+                        @Value("${shareit.item.import.max-errors:1000}") int maxErrors) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.entityManager = entityManager;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemSearchCache = itemSearchCache;
+        this.reader = objectMapper.readerFor(ItemRequestDto.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Chunks that were inserted stay inserted when a later chunk fails, and the rows of the failed chunk are reported
+     * with their line numbers like rows that fail on their own; neither stops the import.
+     */
+    public ItemImportResultDto importItems(Long ownerId, InputStream body) {
+        if (!userService.exists(ownerId)) {
+            throw new NotFoundException(String.format("user with id = %d not found.", ownerId));
+        }
+        long startNanos = System.nanoTime();
+        Report report = new Report(maxErrors);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.rows++;
+                Row row = parse(lineNumber, line, report);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    insert(ownerId, chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        insert(ownerId, chunk, report);
+        report.errors.sort(Comparator.comparingLong(ItemImportErrorDto::getLine));
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("items import for user with id = {}: {} rows, {} imported, {} failed in {} ms.",
+                ownerId, report.rows, report.imported, report.failed, elapsedMs);
+        return new ItemImportResultDto(report.rows, report.imported, report.failed, elapsedMs,
+                report.rows * 1000.0 / Math.max(elapsedMs, 1), report.errors);
+    }
+
+    private Row parse(long lineNumber, String line, Report report) {
+        ItemRequestDto itemDto;
+        try {
+            itemDto = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            report.fail(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (itemDto == null) {
+            report.fail(lineNumber, "malformed JSON: not an object.");
+            return null;
+        }
+        Set<ConstraintViolation<ItemRequestDto>> violations = validator.validate(itemDto);
+        if (!violations.isEmpty()) {
+            report.fail(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new Row(lineNumber, itemDto);
+    }
+
+    /**
+     * Rows rejected inside the transaction are reported only once it commits. When the chunk fails as a whole,
+     * every row of it is reported instead and the import goes on with the next chunk.
+     */
+    private void insert(Long ownerId, List<Row> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> requestIds = chunk.stream()
+                .map(row -> row.itemDto.getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<ItemImportErrorDto> rejected = new ArrayList<>();
+        Integer imported;
+        try {
+            imported = transactionTemplate.execute(status -> {
+                Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of()
+                        : itemRequestRepository.findExistingIds(requestIds);
+                User owner = userRepository.getReferenceById(ownerId);
+                List<Item> items = new ArrayList<>(chunk.size());
+                for (Row row : chunk) {
+                    Long requestId = row.itemDto.getRequestId();
+                    if (requestId != null && !existingRequestIds.contains(requestId)) {
+                        rejected.add(new ItemImportErrorDto(row.lineNumber,
+                                String.format("item request with id = %d not found.", requestId)));
+                        continue;
+                    }
+                    items.add(toItem(row.itemDto, owner));
+                }
+                itemRepository.saveAll(items);
+                entityManager.flush();
+                List<ItemTextDto> itemTexts = items.stream()
+                        .map(item -> new ItemTextDto(item.getId(), item.getName(), item.getDescription(),
+                                item.getAvailable()))
+                        .collect(Collectors.toList());
+                entityManager.clear();
+                afterCommit(() -> itemTexts.forEach(itemText -> {
+                    itemSearchEngine.index(itemText);
+                    itemSearchCache.invalidate(null, itemText);
+                }));
+                return items.size();
+            });
+        } catch (DataAccessException | TransactionException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("items import for user with id = {}: chunk of lines {}-{} failed: {}", ownerId,
+                    chunk.get(0).lineNumber, chunk.get(chunk.size() - 1).lineNumber, cause);
+            chunk.forEach(row -> report.fail(row.lineNumber, "chunk not imported: " + cause));
+            return;
+        }
+        rejected.forEach(error -> report.fail(error.getLine(), error.getError()));
+        report.imported += imported == null ? 0 : imported;
+    }
+
+    private Item toItem(ItemRequestDto itemDto, User owner) {
+        Item item = new Item();
+        item.setName(itemDto.getName());
+        item.setDescription(itemDto.getDescription());
+        item.setAvailable(itemDto.getAvailable());
+        item.setOwner(owner);
+        if (itemDto.getRequestId() != null) {
+            item.setRequest(itemRequestRepository.getReferenceById(itemDto.getRequestId()));
+        }
+        return item;
+    }
+
+    private static final class Row {
+        private final long lineNumber;
+        private final ItemRequestDto itemDto;
+
+        private Row(long lineNumber, ItemRequestDto itemDto) {
+            this.lineNumber = lineNumber;
+            this.itemDto = itemDto;
+        }
+    }
+
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void fail(long lineNumber, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ItemImportErrorDto(lineNumber, error));
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.item.service.search;
+
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.service.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchCacheStatsDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.isReadWriteTransactionActive;
+
+/**
+ * Bounded LRU cache of search result pages keyed by (lowercased text, from, size).
+ * A page expires after the TTL or when the next booking of one of its items starts, whichever comes first.
+ * Changing an item drops every page of the texts it matched before or matches now, since the item may
+ * shift the pages; a new comment or booking drops only the pages that show the item.
+ */
+@Component
+public class ItemSearchCache {
+    private final int maxEntries;
+    private final long ttlMs;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Key>> keysByText = new HashMap<>();
+    private final Map<Long, Set<Key>> keysByItemId = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private long generation;
+
+    public ItemSearchCache(@Value("${shareit.search.cache.max-entries:1000}") int maxEntries,
+                           @Value("${shareit.search.cache.ttl-ms:30000}") long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+    }
+
+    public List<ItemResponseDto> get(String text, Integer from, Integer size, Supplier<List<ItemResponseDto>> loader) {
+        Key key = new Key(text.toLowerCase(), from, size);
+        LocalDateTime time = LocalDateTime.now();
+        long generationBefore;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt.isAfter(time)) {
+                hits.incrementAndGet();
+                return new ArrayList<>(entry.items);
+            }
+            if (entry != null) {
+                remove(key);
+                evictions.incrementAndGet();
+            }
+            generationBefore = generation;
+        }
+        misses.incrementAndGet();
+        List<ItemResponseDto> items = loader.get();
+        if (maxEntries > 0 && !isReadWriteTransactionActive()) {
+            put(key, new Entry(new ArrayList<>(items), expiresAt(items, time)), generationBefore);
+        }
+        return items;
+    }
+
+    /**
+     * Drops the pages that show the item and every page of the texts the item matched before or matches now.
+     *
+     * @param before item as it was before the change, or null for a new item
+     * @param after  item after the change
+     */
+    public synchronized void invalidate(ItemTextDto before, ItemTextDto after) {
+        Set<String> texts = new HashSet<>();
+        keysByItemId.getOrDefault(after.getId(), Set.of()).forEach(key -> texts.add(key.text));
+        for (ItemTextDto item : Arrays.asList(before, after)) {
+            if (item != null && Boolean.TRUE.equals(item.getAvailable())) {
+                String name = item.getName().toLowerCase();
+                String description = item.getDescription().toLowerCase();
+                keysByText.keySet().stream()
+                        .filter(text -> name.contains(text) || description.contains(text))
+                        .forEach(texts::add);
+            }
+        }
+        texts.forEach(text -> new ArrayList<>(keysByText.getOrDefault(text, Set.of()))
+                .forEach(this::invalidateKey));
+        generation++;
+    }
+
+    /**
+     * Drops the pages that show the item, for changes that do not affect which items match.
+     */
+    public synchronized void invalidateItem(Long itemId) {
+        new ArrayList<>(keysByItemId.getOrDefault(itemId, Set.of())).forEach(this::invalidateKey);
+        generation++;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        invalidateItem(event.getItemId());
+    }
+
+    public synchronized ItemSearchCacheStatsDto getStats() {
+        return new ItemSearchCacheStatsDto(hits.get(), misses.get(), evictions.get(), invalidations.get(),
+                entries.size());
+    }
+
+    private synchronized void put(Key key, Entry entry, long generationBefore) {
+        if (generation != generationBefore) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        keysByText.computeIfAbsent(key.text, text -> new HashSet<>()).add(key);
+        entry.items.forEach(item -> keysByItemId.computeIfAbsent(item.getId(), id -> new HashSet<>()).add(key));
+        while (entries.size() > maxEntries) {
+            remove(entries.keySet().iterator().next());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void invalidateKey(Key key) {
+        if (remove(key)) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    private boolean remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        removeKey(keysByText, key.text, key);
+        entry.items.forEach(item -> removeKey(keysByItemId, item.getId(), key));
+        return true;
+    }
+
+    private LocalDateTime expiresAt(List<ItemResponseDto> items, LocalDateTime time) {
+        LocalDateTime expiresAt = time.plus(ttlMs, ChronoUnit.MILLIS);
+        for (ItemResponseDto item : items) {
+            BookingBookerDto nextBooking = item.getNextBooking();
+            if (nextBooking != null && nextBooking.getStart().isBefore(expiresAt)) {
+                expiresAt = nextBooking.getStart();
+            }
+        }
+        return expiresAt;
+    }
+
+    private static <K> void removeKey(Map<K, Set<Key>> index, K indexKey, Key key) {
+        Set<Key> keys = index.get(indexKey);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(indexKey);
+            }
+        }
+    }
+
+    @EqualsAndHashCode
+    private static final class Key {
+        private final String text;
+        private final Integer from;
+        private final Integer size;
+
+        private Key(String text, Integer from, Integer size) {
+            this.text = text;
+            this.from = from;
+            this.size = size;
+        }
+    }
+
+    private static final class Entry {
+        private final List<ItemResponseDto> items;
+        private final LocalDateTime expiresAt;
+
+        private Entry(List<ItemResponseDto> items, LocalDateTime expiresAt) {
+            this.items = items;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.service.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description contains the text, ignoring case.
+ * The implementation is selected by the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    void index(ItemTextDto item);
+
+    /**
+     * @return number of indexed items
+     */
+    int rebuild();
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like")
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.getByText(text.toLowerCase(), pageable).getContent();
+    }
+
+    @Override
+    public void index(ItemTextDto item) {
+    }
+
+    @Override
+    public int rebuild() {
+        return 0;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory trigram index over item names and descriptions. Candidates come from the posting list
+ * of the rarest trigram of the text and are checked with a plain substring match, so the results
+ * are the same as the LIKE query. Texts shorter than a trigram are checked against every item.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean ranking;
+    private volatile Index index = new Index();
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository,
+                                   @Value("${shareit.search.ranking:false}") boolean ranking) {
+        this.itemRepository = itemRepository;
+        this.ranking = ranking;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = text.toLowerCase();
+        Index current = index;
+        Comparator<Document> order = Comparator.comparing(Document::getId);
+        if (ranking) {
+            order = Comparator.comparingInt((Document document) -> document.score(query)).reversed()
+                    .thenComparing(Document::getId);
+        }
+        List<Long> ids = current.candidates(query).stream()
+                .map(current.documents::get)
+                .filter(document -> document != null && document.matches(query))
+                .sorted(order)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Document::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void index(ItemTextDto item) {
+        index.put(new Document(item));
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        Index rebuilt = new Index();
+        itemRepository.findAllTexts().forEach(item -> rebuilt.put(new Document(item)));
+        index = rebuilt;
+        log.info("item search index is rebuilt for {} items.", rebuilt.documents.size());
+        return rebuilt.documents.size();
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private static final class Index {
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        void put(Document document) {
+            Document old = documents.put(document.getId(), document);
+            if (old != null) {
+                old.trigrams().forEach(trigram -> postings.computeIfPresent(trigram, (key, ids) -> {
+                    ids.remove(old.getId());
+                    return ids.isEmpty() ? null : ids;
+                }));
+            }
+            document.trigrams().forEach(trigram -> postings
+                    .computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet())
+                    .add(document.getId()));
+        }
+
+        Collection<Long> candidates(String query) {
+            if (query.length() < GRAM_LENGTH) {
+                return documents.keySet();
+            }
+            Set<Long> rarest = null;
+            for (String trigram : trigrams(query)) {
+                Set<Long> ids = postings.get(trigram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                if (rarest == null || ids.size() < rarest.size()) {
+                    rarest = ids;
+                }
+            }
+            return rarest;
+        }
+    }
+
+    private static final class Document {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        Document(ItemTextDto item) {
+            this.id = item.getId();
+            this.name = item.getName().toLowerCase();
+            this.description = item.getDescription().toLowerCase();
+            this.available = Boolean.TRUE.equals(item.getAvailable());
+        }
+
+        Long getId() {
+            return id;
+        }
+
+        boolean matches(String query) {
+            return available && (name.contains(query) || description.contains(query));
+        }
+
+        /**
+         * Name matches weigh more than description matches, and a name starting with the text weighs most.
+         */
+        int score(String query) {
+            int score = 0;
+            if (name.startsWith(query)) {
+                score += 3;
+            } else if (name.contains(query)) {
+                score += 2;
+            }
+            if (description.contains(query)) {
+                score += 1;
+            }
+            return score;
+        }
+
+        Set<String> trigrams() {
+            Set<String> trigrams = TrigramItemSearchEngine.trigrams(name);
+            trigrams.addAll(TrigramItemSearchEngine.trigrams(description));
+            return trigrams;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.service.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.service.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.isReadWriteTransactionActive;
+
+/**
+ * Last and next booking of each item, kept in memory so item reads do not run the correlated
+ * max/min subqueries. An entry is valid until the start of its next booking passes.
+ */
+@Slf4j
+@Component
+public class ItemBookingSummary {
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final long maxAgeMs;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ItemBookingSummary(BookingRepository bookingRepository,
+                              @Value("${shareit.item.booking-summary.max-age-ms:60000}") long maxAgeMs) {
+        this.bookingRepository = bookingRepository;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public void fill(List<ItemResponseDto> itemsDto) {
+        LocalDateTime time = LocalDateTime.now();
+        Map<Long, Entry> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (ItemResponseDto itemDto : itemsDto) {
+            Entry entry = entries.get(itemDto.getId());
+            if (entry != null && entry.isValidAt(time, maxAgeMs)) {
+                found.put(itemDto.getId(), entry);
+            } else {
+                missing.add(itemDto.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(load(missing, time));
+        }
+        itemsDto.forEach(itemDto -> {
+            Entry entry = found.get(itemDto.getId());
+            itemDto.setLastBooking(entry.getLast(time));
+            itemDto.setNextBooking(entry.getNext());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        evictions.incrementAndGet();
+        entries.remove(event.getItemId());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.booking-summary.refresh-delay-ms:1000}")
+    public void refresh() {
+        LocalDateTime time = LocalDateTime.now();
+        List<Long> rolledOver = new ArrayList<>();
+        entries.forEach((itemId, entry) -> {
+            if (entry.isExpiredAt(time, maxAgeMs)) {
+                entries.remove(itemId, entry);
+            } else if (!entry.isValidAt(time, maxAgeMs)) {
+                rolledOver.add(itemId);
+            }
+        });
+        for (int i = 0; i < rolledOver.size(); i += REFRESH_BATCH_SIZE) {
+            load(rolledOver.subList(i, Math.min(i + REFRESH_BATCH_SIZE, rolledOver.size())), time);
+        }
+        if (!rolledOver.isEmpty()) {
+            log.debug("last and next bookings are refreshed for {} items.", rolledOver.size());
+        }
+    }
+
+    private Map<Long, Entry> load(List<Long> itemIds, LocalDateTime time) {
+        long evictionsBefore = evictions.get();
+        Map<Long, BookingBookerDto> last = new HashMap<>();
+        Map<Long, BookingBookerDto> next = new HashMap<>();
+        for (BookingBookerDto bookingDto : bookingRepository.findLastAndNextByIdList(itemIds, time)) {
+            if (bookingDto.getStart().isAfter(time)) {
+                next.put(bookingDto.getItemId(), bookingDto);
+            }
+            if (bookingDto.getStart().isBefore(time)) {
+                last.put(bookingDto.getItemId(), bookingDto);
+            }
+        }
+        Map<Long, Entry> loaded = new HashMap<>();
+        itemIds.forEach(itemId -> loaded.put(itemId, new Entry(last.get(itemId), next.get(itemId), time)));
+        if (evictions.get() == evictionsBefore && !isReadWriteTransactionActive()) {
+            entries.putAll(loaded);
+        }
+        return loaded;
+    }
+
+    private static final class Entry {
+        private final BookingBookerDto last;
+        private final BookingBookerDto next;
+        private final LocalDateTime computedAt;
+
+        private Entry(BookingBookerDto last, BookingBookerDto next, LocalDateTime computedAt) {
+            this.last = last;
+            this.next = next;
+            this.computedAt = computedAt;
+        }
+
+        BookingBookerDto getLast(LocalDateTime time) {
+            return last != null && last.getEnd().isBefore(time) ? last : null;
+        }
+
+        BookingBookerDto getNext() {
+            return next;
+        }
+
+        boolean isValidAt(LocalDateTime time, long maxAgeMs) {
+            return (next == null || next.getStart().isAfter(time)) && !isExpiredAt(time, maxAgeMs);
+        }
+
+        boolean isExpiredAt(LocalDateTime time, long maxAgeMs) {
+            return !computedAt.plus(maxAgeMs, ChronoUnit.MILLIS).isAfter(time);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.controller;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +12,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 
+@Timed(histogram = true)
 @RestController
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
@@ -1,18 +1,29 @@
 package ru.practicum.shareit.request.db.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.global.mapper.EntityMapper;
 import ru.practicum.shareit.request.db.model.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemReqResponseDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> getItemRequestsByRequestorId(Long userId, Pageable pageable);
+    @Query("select new ru.practicum.shareit.request.dto.ItemReqResponseDto(ir.id, ir.description, ir.created) " +
+            "from ItemRequest ir " +
+            "where ir.requestor.id = :userId")
+    List<ItemReqResponseDto> getItemRequestsByRequestorId(Long userId, Pageable pageable);
 
-    @Query("select ir from ItemRequest ir " +
+    @Query("select new ru.practicum.shareit.request.dto.ItemReqResponseDto(ir.id, ir.description, ir.created) " +
+            "from ItemRequest ir " +
             "where ir.requestor.id <> :userId")
-    Page<ItemRequest> findAllByOtherUsers(Long userId, Pageable pageable);
+    List<ItemReqResponseDto> findAllByOtherUsers(Long userId, Pageable pageable);
+
+    @Query("select ir.id from ItemRequest ir where ir.id in (:ids)")
+    Set<Long> findExistingIds(Collection<Long> ids);
 
     @EntityMapper
     ItemRequest getItemRequestById(Long id);
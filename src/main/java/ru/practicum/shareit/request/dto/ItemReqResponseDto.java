@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import ru.practicum.shareit.item.dto.ItemForRequestResponseDto;
 
@@ -10,9 +11,16 @@ import java.util.List;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class ItemReqResponseDto {
     private Long id;
     private String description;
     private LocalDateTime created;
     private List<ItemForRequestResponseDto> items = new ArrayList<>();
+
+    public ItemReqResponseDto(Long id, String description, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.created = created;
+    }
 }
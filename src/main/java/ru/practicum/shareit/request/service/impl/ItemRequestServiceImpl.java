@@ -4,10 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.global.exception.NotFoundException;
-import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.global.metrics.QueryBudget;
 import ru.practicum.shareit.item.db.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForRequestResponseDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -39,13 +38,12 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserService userService;
 
     @Override
+    @QueryBudget(3)
     public List<ItemReqResponseDto> getItemRequests(Long userId, Integer from, Integer size) {
         log.info("request to get all user item requests with id = {}.", userId);
-        userService.getById(userId);
+        checkUserExists(userId);
         List<ItemReqResponseDto> itemReqDtoList = itemRequestRepository.getItemRequestsByRequestorId(userId,
-                        getPageable(from, size, Sort.Direction.DESC, "created")).stream()
-                .map(itemRequestMapper::toItemReqDto)
-                .collect(Collectors.toList());
+                getPageable(from, size, Sort.Direction.DESC, "created"));
         setItems(itemReqDtoList);
         return itemReqDtoList;
     }
@@ -53,25 +51,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemReqResponseDto getById(Long requestId, Long userId) {
         log.info("request to get a item request with id = {}.", requestId);
-        userService.getById(userId);
+        checkUserExists(userId);
         ItemReqResponseDto itemReqDto = itemRequestMapper.toItemReqDto(itemRequestRepository.getReferenceById(requestId));
         setItem(itemReqDto);
         return itemReqDto;
     }
 
     @Override
+    @QueryBudget(2)
     public List<ItemReqResponseDto> getAllByOtherRequestors(Long userId, Integer from, Integer size) {
         log.info("request to get all item requests with other users.");
         List<ItemReqResponseDto> itemReqDtoList = itemRequestRepository.findAllByOtherUsers(userId,
-                        getPageable(from, size, Sort.Direction.DESC, "created")).stream()
-                .map(itemRequestMapper::toItemReqDto)
-                .collect(Collectors.toList());
+                getPageable(from, size, Sort.Direction.DESC, "created"));
         setItems(itemReqDtoList);
         return itemReqDtoList;
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public ItemReqResponseDto save(ItemReqRequestDto itemReqDto) {
         log.info("request to save a item request {}.", itemReqDto);
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(itemReqDto);
@@ -92,12 +89,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private void setItems(List<ItemReqResponseDto> itemReqDtoList) {
-
+        if (itemReqDtoList.isEmpty()) {
+            return;
+        }
         Map<Long, List<ItemForRequestResponseDto>> itemReqDtoMap = new HashMap<>();
         for (ItemReqResponseDto itemReqResponseDto : itemReqDtoList) {
             itemReqDtoMap.put(itemReqResponseDto.getId(), itemReqResponseDto.getItems());
         }
-        List<Item> items = itemRepository.findItemsByRequestId(itemReqDtoMap.keySet());
-        items.forEach(item -> itemReqDtoMap.get(item.getRequest().getId()).add(itemMapper.toItemForRequestDto(item)));
+        itemRepository.findItemsByRequestId(itemReqDtoMap.keySet())
+                .forEach(item -> itemReqDtoMap.get(item.getRequestId()).add(item));
+    }
+
+    private void checkUserExists(Long userId) {
+        if (!userService.exists(userId)) {
+            throw new NotFoundException(String.format("user with id = %d not found.", userId));
+        }
     }
 }
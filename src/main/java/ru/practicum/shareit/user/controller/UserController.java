@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.controller;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,6 +14,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.util.List;
 
+@Timed(histogram = true)
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
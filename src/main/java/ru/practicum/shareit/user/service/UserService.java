@@ -11,6 +11,8 @@ public interface UserService {
 
     UserResponseDto getById(Long userId);
 
+    boolean exists(Long userId);
+
     UserResponseDto save(UserRequestDto userDto);
 
     UserResponseDto change(Long userId, UserPatchDto userDto);
@@ -3,7 +3,6 @@ package ru.practicum.shareit.user.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.db.model.User;
 import ru.practicum.shareit.user.db.repository.UserRepository;
@@ -14,8 +13,14 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.afterCommit;
+import static ru.practicum.shareit.global.utility.TransactionCallbacks.isReadWriteTransactionActive;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
@@ -23,6 +28,10 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private static final int MAX_KNOWN_USERS = 100_000;
+
+    private final Set<Long> knownUserIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong deletions = new AtomicLong();
 
     @Override
     public List<UserResponseDto> getUsers() {
@@ -38,18 +47,41 @@ public class UserServiceImpl implements UserService {
         return userMapper.toUserDto(userRepository.getReferenceById(userId));
     }
 
+    /**
+     * Remembers the ids of users found to exist, so repeated checks of the same user cost no query.
+     * A user deleted while the query ran is forgotten again: every committed delete bumps the deletion count,
+     * and an id is kept only if the count did not change since before the query.
+     */
+    @Override
+    public boolean exists(Long userId) {
+        if (knownUserIds.contains(userId)) {
+            return true;
+        }
+        long deletionsBefore = deletions.get();
+        boolean exists = userRepository.existsById(userId);
+        if (exists && !isReadWriteTransactionActive() && knownUserIds.size() < MAX_KNOWN_USERS) {
+            knownUserIds.add(userId);
+            if (deletions.get() != deletionsBefore) {
+                knownUserIds.remove(userId);
+            }
+        }
+        return exists;
+    }
+
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public UserResponseDto save(UserRequestDto userDto) {
         log.info("request to save a user {}.", userDto);
         User user = userMapper.toUser(userDto);
         User savedUser = userRepository.save(user);
+        Long savedUserId = savedUser.getId();
+        afterCommit(() -> knownUserIds.add(savedUserId));
         log.info("user with id = {} is saved {}.", savedUser.getId(), savedUser);
         return userMapper.toUserDto(savedUser);
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public UserResponseDto change(Long userId, UserPatchDto userDto) {
         log.info("request to change a user with id = {} to {}.", userId, userDto);
         User dbUser = userRepository.getReferenceById(userId);
@@ -65,10 +97,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
     public void delete(Long userId) {
         log.info("request to delete a user with id = {}.", userId);
+        knownUserIds.remove(userId);
         userRepository.deleteById(userId);
+        afterCommit(() -> {
+            deletions.incrementAndGet();
+            knownUserIds.remove(userId);
+        });
         log.info("user with id = {} is deleted.", userId);
     }
 }
@@ -0,0 +1,16 @@
+-- bookings of a booker by start, also the seek pagination on (start desc, id desc)
+CREATE INDEX IF NOT EXISTS BOOKINGS_BOOKER_START_IDX ON bookings (booker_id, start_date DESC, id DESC);
+
+-- last and next booking of an item, and bookings of an owner joined through items
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_START_IDX ON bookings (item_id, start_date);
+
+-- overlapping approved bookings of an item and the past approved booking before a comment
+CREATE INDEX IF NOT EXISTS BOOKINGS_ITEM_STATUS_INTERVAL_IDX ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS ITEMS_OWNER_IDX ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS ITEMS_REQUEST_IDX ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS COMMENTS_ITEM_IDX ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS ITEM_REQUESTS_REQUESTOR_CREATED_IDX ON item_requests (requestor_id, created DESC);
@@ -0,0 +1,14 @@
+-- owner of the booked item, so owner queries read bookings alone
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS item_owner_id BIGINT;
+
+UPDATE bookings b SET item_owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id);
+
+ALTER TABLE bookings ALTER COLUMN item_owner_id SET NOT NULL;
+
+-- a change of the item owner cascades to its bookings
+ALTER TABLE items ADD CONSTRAINT UQ_ITEMS_ID_OWNER UNIQUE (id, owner_id);
+
+ALTER TABLE bookings ADD CONSTRAINT BOOKINGS_ITEMS_OWNER_FK
+    FOREIGN KEY (item_id, item_owner_id) REFERENCES items (id, owner_id) ON UPDATE CASCADE;
+
+CREATE INDEX IF NOT EXISTS BOOKINGS_OWNER_START_IDX ON bookings (item_owner_id, start_date DESC, id DESC);
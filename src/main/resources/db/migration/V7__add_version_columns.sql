@@ -0,0 +1,3 @@
+-- optimistic locking of items and bookings; databases baselined from the old schema.sql lack the columns
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.benchmark.BenchmarkData;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.global.metrics.SqlStatementRecorder;
+import ru.practicum.shareit.item.db.repository.CommentRepository;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.request.db.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks on the H2 plans that the hot repository queries are answered from indexes and never scan a table.
+ * The repository methods are called and the SQL Hibernate generated for them is explained, so joins and
+ * subqueries are checked as they are issued. The context skips the test data, so it gets its own database
+ * seeded with the benchmark dataset.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.global.metrics.SqlStatementRecorder"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int USERS = 100;
+    private static final int ITEMS = USERS * 10;
+    private static final int REQUESTS = USERS * 2;
+
+    private static final List<Long> ITEM_IDS = List.of(1L, 2L, 3L);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private final LocalDateTime time = LocalDateTime.now();
+
+    @BeforeAll
+    void seed() {
+        BenchmarkData data = new BenchmarkData(jdbcTemplate, 42);
+        data.seedUsers(USERS);
+        data.seedRequests(USERS, REQUESTS);
+        data.seedItems(USERS, ITEMS, REQUESTS);
+        data.seedBookings(USERS, ITEMS, ITEMS * 20);
+        data.seedComments(USERS, ITEMS, ITEMS * 2);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void bookingsByState_whenExplained_thenIndexUsed() {
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                assertIndexed(() -> bookingRepository.findAllByState(role, 1L, state, time, PageRequest.of(0, 20)));
+            }
+        }
+    }
+
+    @Test
+    void bookingsAfterCursor_whenExplained_thenIndexUsed() {
+        BookingCursor cursor = new BookingCursor(time, 1000L);
+        for (BookingRole role : BookingRole.values()) {
+            for (BookingState state : BookingState.values()) {
+                assertIndexed(() -> bookingRepository.findAllAfter(role, 1L, state, time, cursor, 20));
+            }
+        }
+    }
+
+    @Test
+    void lastAndNextBookings_whenExplained_thenIndexUsed() {
+        assertIndexed(() -> bookingRepository.findLastAndNextByIdList(ITEM_IDS, time));
+    }
+
+    @Test
+    void approvedIntervals_whenExplained_thenIndexUsed() {
+        assertIndexed(() -> bookingRepository.findApprovedIntervalsEndingAfter(ITEM_IDS, time));
+    }
+
+    @Test
+    void itemsByOwnerAndRequest_whenExplained_thenIndexUsed() {
+        assertIndexed(() -> itemRepository.getItemsByOwnerId(1L, PageRequest.of(0, 20, Sort.Direction.ASC, "id")));
+        assertIndexed(() -> itemRepository.findItemsByRequestId(Set.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void commentsByItem_whenExplained_thenIndexUsed() {
+        assertIndexed(() -> commentRepository.findCommentsByItemIds(ITEM_IDS));
+    }
+
+    @Test
+    void requestsByRequestor_whenExplained_thenIndexUsed() {
+        assertIndexed(() -> itemRequestRepository.getItemRequestsByRequestorId(1L,
+                PageRequest.of(0, 20, Sort.Direction.DESC, "created")));
+    }
+
+    /**
+     * Runs the repository call and explains every statement it issued.
+     */
+    private void assertIndexed(Runnable repositoryCall) {
+        SqlStatementRecorder.drain();
+        repositoryCall.run();
+        List<String> statements = SqlStatementRecorder.drain();
+        assertFalse(statements.isEmpty(), "no statement issued");
+        statements.forEach(this::assertIndexed);
+    }
+
+    private void assertIndexed(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("explain " + sql, String.class);
+        String text = String.join("\n", plan);
+        assertFalse(text.contains("tableScan"), () -> "sequential scan in the plan of\n" + sql + ":\n" + text);
+    }
+}
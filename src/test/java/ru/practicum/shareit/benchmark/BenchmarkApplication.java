@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import ru.practicum.shareit.ShareItApp;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application on an empty in-memory H2 database in PostgreSQL mode.
+ * The test data migration is skipped, so the schema holds only what {@link BenchmarkData} generates.
+ */
+final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        return builder(database, properties)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * The properties take precedence over application.properties, and command line arguments of the run
+     * take precedence over them, so a run can point to another database.
+     */
+    static SpringApplicationBuilder builder(String database, String... properties) {
+        Map<String, Object> all = new LinkedHashMap<>();
+        List.of("spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.springframework=WARN",
+                "logging.level.org.springframework.transaction.interceptor=WARN",
+                "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .forEach(property -> put(all, property));
+        for (String property : properties) {
+            put(all, property);
+        }
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", all));
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .environment(environment);
+    }
+
+    private static void put(Map<String, Object> all, String property) {
+        int separator = property.indexOf('=');
+        all.put(property.substring(0, separator), property.substring(separator + 1));
+    }
+}
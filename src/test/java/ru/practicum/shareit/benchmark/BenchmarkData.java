@@ -0,0 +1,142 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic rows for benchmarks into an empty schema with ids that start at 1 and follow insertion order.
+ * The same seed always gives the same data. Item {@code i} is owned by user {@code 1 + (i - 1) % users},
+ * and every tenth item is unavailable.
+ */
+public class BenchmarkData {
+    static final String[] ADJECTIVES = {"cordless", "compact", "heavy", "electric", "manual", "folding",
+            "portable", "industrial", "vintage", "digital"};
+    static final String[] NOUNS = {"drill", "saw", "ladder", "tent", "juicer", "projector", "kayak",
+            "sander", "grill", "camera", "bicycle", "vacuum"};
+    static final String[] PURPOSES = {"garden", "camping", "kitchen", "workshop", "party", "travel"};
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    public BenchmarkData(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public static long ownerOf(long itemId, int users) {
+        return 1 + (itemId - 1) % users;
+    }
+
+    public static boolean isAvailable(long itemId) {
+        return itemId % 10 != 0;
+    }
+
+    public void seedUsers(int count) {
+        String sql = "insert into users(id, name, email) values (?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            batch.add(new Object[]{i, "user " + i, "user" + i + "@shareit.test"});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        restartSequence("users", count);
+    }
+
+    public void seedRequests(int users, int count) {
+        String sql = "insert into item_requests(id, description, requestor_id, created) values (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            batch.add(new Object[]{i, "need a " + NOUNS[random.nextInt(NOUNS.length)], 1 + random.nextInt(users),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        restartSequence("item_requests", count);
+    }
+
+    /**
+     * Inserts items for the given users; every twentieth item answers a random request when there are any.
+     */
+    public void seedItems(int users, int count, int requests) {
+        String sql = "insert into items(id, name, description, is_available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (long itemId = 1; itemId <= count; itemId++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun + " " + itemId;
+            String description = noun + " for " + PURPOSES[random.nextInt(PURPOSES.length)]
+                    + ", model " + Integer.toHexString(random.nextInt());
+            Long requestId = requests > 0 && itemId % 20 == 0 ? (long) (1 + random.nextInt(requests)) : null;
+            batch.add(new Object[]{itemId, name, description, isAvailable(itemId), ownerOf(itemId, users),
+                    requestId});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        restartSequence("items", count);
+    }
+
+    /**
+     * Inserts bookings within a year before and after now, each by a user other than the item owner.
+     */
+    public void seedBookings(int users, int items, int count) {
+        String sql = "insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long itemId = 1 + random.nextInt(items);
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 365 * 2) - 24 * 365);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24 * 7));
+            long ownerId = ownerOf(itemId, users);
+            batch.add(new Object[]{i + 1, Timestamp.valueOf(start), Timestamp.valueOf(end), itemId, ownerId,
+                    otherUser(ownerId, users), STATUSES[random.nextInt(STATUSES.length)]});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        restartSequence("bookings", count);
+    }
+
+    public void seedComments(int users, int items, int count) {
+        String sql = "insert into comments(id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long itemId = 1 + random.nextInt(items);
+            batch.add(new Object[]{i + 1, "comment " + i, itemId, otherUser(ownerOf(itemId, users), users),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))});
+            flushIfFull(sql, batch);
+        }
+        flush(sql, batch);
+        restartSequence("comments", count);
+    }
+
+    private long otherUser(long userId, int users) {
+        return users == 1 ? userId : 1 + (userId + random.nextInt(users - 1)) % users;
+    }
+
+    /**
+     * Moves the id sequence of the table past the inserted rows, so that the application continues after them.
+     */
+    private void restartSequence(String table, long lastId) {
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (lastId + 1));
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() == BATCH_SIZE) {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+}
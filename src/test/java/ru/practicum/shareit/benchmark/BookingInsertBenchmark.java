@@ -0,0 +1,135 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.user.db.model.User;
+
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts 100k bookings in one transaction, the way Hibernate does with identity ids and with pooled sequence ids.
+ * With identity ids every insert is its own statement that reads the generated key back, so the first benchmark
+ * replays that on plain JDBC; the second persists entities, which now take their ids from a sequence block and
+ * are flushed in JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BookingInsertBenchmark {
+    private static final int USERS = 100;
+    private static final int ITEMS = USERS * 10;
+    private static final int FLUSH_SIZE = 1000;
+
+    @Param({"100000"})
+    private int bookings;
+
+    private final LocalDateTime start = LocalDateTime.now().plusYears(1);
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("insert-" + System.nanoTime());
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkData data = new BenchmarkData(jdbcTemplate, 42);
+        data.seedUsers(USERS);
+        data.seedItems(USERS, ITEMS, 0);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        jdbcTemplate.execute("delete from bookings");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int identityInserts() {
+        String sql = "insert into bookings(start_date, end_date, item_id, item_owner_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?, ?)";
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < bookings; i++) {
+                long itemId = itemId(i);
+                LocalDateTime bookingStart = start.plusHours(i);
+                GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                    statement.setTimestamp(1, Timestamp.valueOf(bookingStart));
+                    statement.setTimestamp(2, Timestamp.valueOf(bookingStart.plusMinutes(30)));
+                    statement.setLong(3, itemId);
+                    statement.setLong(4, BenchmarkData.ownerOf(itemId, USERS));
+                    statement.setLong(5, bookerId(itemId));
+                    statement.setString(6, BookingStatus.WAITING.name());
+                    return statement;
+                }, keyHolder);
+            }
+            return bookings;
+        });
+    }
+
+    @Benchmark
+    public int sequenceBatchInserts() {
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < bookings; i++) {
+                long itemId = itemId(i);
+                LocalDateTime bookingStart = start.plusHours(i);
+                Booking booking = new Booking();
+                booking.setStart(bookingStart);
+                booking.setEnd(bookingStart.plusMinutes(30));
+                booking.setItem(entityManager.getReference(Item.class, itemId));
+                booking.setItemOwnerId(BenchmarkData.ownerOf(itemId, USERS));
+                booking.setBooker(entityManager.getReference(User.class, bookerId(itemId)));
+                booking.setStatus(BookingStatus.WAITING);
+                entityManager.persist(booking);
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return bookings;
+        });
+    }
+
+    private static long itemId(int i) {
+        long itemId = 1 + i % ITEMS;
+        return BenchmarkData.isAvailable(itemId) ? itemId : itemId - 1;
+    }
+
+    private static long bookerId(long itemId) {
+        return BenchmarkData.ownerOf(itemId, USERS) % USERS + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingInsertBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"})
+    private String state;
+
+    private final LocalDateTime start = LocalDateTime.now().plusYears(3);
+    private final AtomicLong next = new AtomicLong();
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItDataset dataset) {
+        bookingService = dataset.getBean(BookingService.class);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getAllByState(ShareItDataset dataset) {
+        return bookingService.getAllByState(dataset.randomUserId(), state, 0, 20);
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> getAllByOwner(ShareItDataset dataset) {
+        return bookingService.getAllByOwner(dataset.randomUserId(), state, 0, 20);
+    }
+
+    /**
+     * Each booking takes its own hour after every seeded booking, so saves never overlap.
+     */
+    @Benchmark
+    public BookingResponseDto save(ShareItDataset dataset) {
+        long itemId = dataset.randomAvailableItemId();
+        LocalDateTime bookingStart = start.plusHours(next.getAndIncrement());
+        BookingRequestDto bookingDto = new BookingRequestDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setBookerId(dataset.ownerOf(itemId) % dataset.users + 1);
+        bookingDto.setStart(bookingStart);
+        bookingDto.setEnd(bookingStart.plusMinutes(30));
+        return bookingService.save(bookingDto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.db.model.Comment;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.user.db.model.User;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the nested-loop comment assembly of item listings with the id-keyed grouping over projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemEnrichmentBenchmark {
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    @Param({"10"})
+    private int commentsPerItem;
+
+    private final CommentMapper commentMapper = new CommentMapperImpl();
+    private List<ItemResponseDto> itemsDto;
+    private List<Comment> comments;
+    private List<ItemCommentDto> commentsDto;
+
+    @Setup
+    public void setUp() {
+        User author = new User();
+        author.setId(1L);
+        author.setName("author");
+        LocalDateTime created = LocalDateTime.now();
+        Random random = new Random(42);
+
+        itemsDto = new ArrayList<>();
+        List<Item> itemList = new ArrayList<>();
+        for (long id = 1; id <= items; id++) {
+            ItemResponseDto itemDto = new ItemResponseDto();
+            itemDto.setId(id);
+            itemsDto.add(itemDto);
+            Item item = new Item();
+            item.setId(id);
+            itemList.add(item);
+        }
+        comments = new ArrayList<>();
+        commentsDto = new ArrayList<>();
+        for (long id = 1; id <= (long) items * commentsPerItem; id++) {
+            Item item = itemList.get(random.nextInt(items));
+            Comment comment = new Comment();
+            comment.setId(id);
+            comment.setItem(item);
+            comment.setAuthor(author);
+            comment.setText("comment " + id);
+            comment.setCreated(created);
+            comments.add(comment);
+            commentsDto.add(new ItemCommentDto(item.getId(), id, comment.getText(), author.getName(), created));
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> nestedLoop() {
+        itemsDto.forEach(itemDto -> {
+            List<CommentResponseDto> itemComments = new ArrayList<>();
+            comments.forEach(comment -> {
+                if (comment.getItem().getId().equals(itemDto.getId())) {
+                    itemComments.add(commentMapper.toCommentDto(comment));
+                }
+            });
+            itemDto.setComments(itemComments);
+        });
+        return itemsDto;
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> groupedById() {
+        Map<Long, List<CommentResponseDto>> commentsByItemId = new HashMap<>();
+        for (ItemCommentDto comment : commentsDto) {
+            commentsByItemId.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>())
+                    .add(commentMapper.toCommentDto(comment));
+        }
+        itemsDto.forEach(itemDto -> itemDto.setComments(
+                commentsByItemId.getOrDefault(itemDto.getId(), new ArrayList<>())));
+        return itemsDto;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemEnrichmentBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.request.dto.ItemReqResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    @Param({"0", "100"})
+    private int from;
+
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItDataset dataset) {
+        itemRequestService = dataset.getBean(ItemRequestService.class);
+    }
+
+    @Benchmark
+    public List<ItemReqResponseDto> getAllByOtherRequestors(ShareItDataset dataset) {
+        return itemRequestService.getAllByOtherRequestors(dataset.randomUserId(), from, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemRequestServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
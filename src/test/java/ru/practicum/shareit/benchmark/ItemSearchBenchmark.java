@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.service.search.ItemSearchEngine;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the search engines on a generated item table in H2 running in PostgreSQL compatibility mode.
+ * H2 has no trigram indexes, so the pg-trgm engine shows the cost of the bound pattern query without them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final String[] TERMS = {"drill", "cordless saw", "kay", "garden", "model 7f", "projector 12"};
+
+    @Param({"like", "memory", "pg-trgm"})
+    private String engine;
+
+    @Param({"10000", "100000"})
+    private int items;
+
+    private final Pageable pageable = PageRequest.of(0, 20, Sort.Direction.ASC, "id");
+    private ConfigurableApplicationContext context;
+    private ItemSearchEngine itemSearchEngine;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("search-" + engine + "-" + items, "shareit.search.engine=" + engine);
+        BenchmarkData data = new BenchmarkData(context.getBean(JdbcTemplate.class), 42L);
+        data.seedUsers(1);
+        data.seedItems(1, items, 0);
+        itemSearchEngine = context.getBean(ItemSearchEngine.class);
+        itemSearchEngine.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> search() {
+        String term = TERMS[next++ % TERMS.length];
+        return itemSearchEngine.search(term, pageable);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+    private static final String[] TERMS = {"drill", "cordless saw", "kay", "garden", "model 7f", "projector 12"};
+
+    private ItemService itemService;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItDataset dataset) {
+        itemService = dataset.getBean(ItemService.class);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getItems(ShareItDataset dataset) {
+        return itemService.getItems(dataset.randomUserId(), 0, 20);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getByText() {
+        return itemService.getByText(TERMS[next++ % TERMS.length], 0, 20);
+    }
+
+    @Benchmark
+    public ItemResponseDto getByIdAsOwner(ShareItDataset dataset) {
+        long itemId = dataset.randomItemId();
+        return itemService.getById(itemId, dataset.ownerOf(itemId));
+    }
+
+    @Benchmark
+    public ItemResponseDto getByIdAsBooker(ShareItDataset dataset) {
+        long itemId = dataset.randomItemId();
+        return itemService.getById(itemId, dataset.ownerOf(itemId) % dataset.users + 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,187 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Bulk-loads a skewed dataset for load tests. Owners, booked items and commented items are drawn from
+ * Zipf distributions over users and items, so a few heavy owners hold most items and a few hot items
+ * collect long booking histories. Ids are read back after each table is loaded, so the data can be
+ * appended to a database that already has rows.
+ */
+public class LoadTestData {
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED"};
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final double skew;
+    private final LocalDateTime now = LocalDateTime.now();
+    private long[] userIds = new long[0];
+    private long[] itemIds = new long[0];
+    private int[] itemOwners = new int[0];
+    private ZipfSampler userSampler;
+    private ZipfSampler itemSampler;
+
+    public LoadTestData(JdbcTemplate jdbcTemplate, long seed, double skew) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+        this.skew = skew;
+    }
+
+    public void seed(int users, int items, int requests, int bookings, int comments) {
+        seedUsers(users);
+        long[] requestIds = seedRequests(requests);
+        seedItems(items, requestIds);
+        seedBookings(bookings);
+        seedComments(comments);
+    }
+
+    public long randomUserId() {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    /**
+     * Heavy owners are drawn more often, as they are during seeding.
+     */
+    public long skewedUserId(Random threadRandom) {
+        return userIds[userSampler.next(threadRandom)];
+    }
+
+    public int getUsers() {
+        return userIds.length;
+    }
+
+    public int getItems() {
+        return itemIds.length;
+    }
+
+    private void seedUsers(int count) {
+        long lastId = lastId("users");
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        insert("insert into users(name, email) values (?, ?)", count,
+                i -> new Object[]{"user " + i, "user" + i + "-" + run + "@shareit.test"});
+        userIds = idsAfter("users", lastId);
+        userSampler = new ZipfSampler(userIds.length, skew);
+    }
+
+    private long[] seedRequests(int count) {
+        long lastId = lastId("item_requests");
+        insert("insert into item_requests(description, requestor_id, created) values (?, ?, ?)", count,
+                i -> new Object[]{"need a " + BenchmarkData.NOUNS[random.nextInt(BenchmarkData.NOUNS.length)],
+                        randomUserId(), Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))});
+        return idsAfter("item_requests", lastId);
+    }
+
+    private void seedItems(int count, long[] requestIds) {
+        long lastId = lastId("items");
+        int[] owners = new int[count];
+        insert("insert into items(name, description, is_available, owner_id, request_id) values (?, ?, ?, ?, ?)",
+                count, i -> {
+                    owners[i] = userSampler.next(random);
+                    String noun = BenchmarkData.NOUNS[random.nextInt(BenchmarkData.NOUNS.length)];
+                    String name = BenchmarkData.ADJECTIVES[random.nextInt(BenchmarkData.ADJECTIVES.length)]
+                            + " " + noun;
+                    String description = noun + " for "
+                            + BenchmarkData.PURPOSES[random.nextInt(BenchmarkData.PURPOSES.length)]
+                            + ", model " + Integer.toHexString(random.nextInt());
+                    Long requestId = requestIds.length > 0 && random.nextInt(20) == 0
+                            ? requestIds[random.nextInt(requestIds.length)] : null;
+                    return new Object[]{name, description, random.nextInt(10) != 0, userIds[owners[i]], requestId};
+                });
+        itemIds = idsAfter("items", lastId);
+        itemOwners = owners;
+        itemSampler = new ZipfSampler(itemIds.length, skew);
+    }
+
+    /**
+     * Hot items get long histories reaching two years back; a small share of bookings is in the future.
+     */
+    private void seedBookings(int count) {
+        insert("insert into bookings(start_date, end_date, item_id, item_owner_id, booker_id, status) " +
+                        "values (?, ?, ?, ?, ?, ?)",
+                count, i -> {
+                    int item = itemSampler.next(random);
+                    LocalDateTime start = now.plusHours(random.nextInt(24 * 365 * 2 + 24 * 60) - 24 * 365 * 2);
+                    LocalDateTime end = start.plusHours(1 + random.nextInt(24 * 7));
+                    return new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), itemIds[item],
+                            userIds[itemOwners[item]], otherUserId(itemOwners[item]),
+                            STATUSES[random.nextInt(STATUSES.length)]};
+                });
+    }
+
+    private void seedComments(int count) {
+        insert("insert into comments(text, item_id, author_id, created) values (?, ?, ?, ?)", count, i -> {
+            int item = itemSampler.next(random);
+            return new Object[]{"comment " + i, itemIds[item], otherUserId(itemOwners[item]),
+                    Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365)))};
+        });
+    }
+
+    private long otherUserId(int owner) {
+        if (userIds.length == 1) {
+            return userIds[owner];
+        }
+        return userIds[(owner + 1 + random.nextInt(userIds.length - 1)) % userIds.length];
+    }
+
+    private long lastId(String table) {
+        Long lastId = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+        return lastId == null ? 0 : lastId;
+    }
+
+    private long[] idsAfter(String table, long lastId) {
+        return jdbcTemplate.queryForList("select id from " + table + " where id > ? order by id", Long.class, lastId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private void insert(String sql, int count, Row row) {
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(row.values(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private interface Row {
+        Object[] values(int i);
+    }
+
+    /**
+     * Draws ranks from 0 to n - 1 with probability proportional to 1 / (rank + 1)^skew.
+     */
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int rank = 0; rank < n; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(rank < 0 ? -rank - 1 : rank, cumulative.length - 1);
+        }
+    }
+}
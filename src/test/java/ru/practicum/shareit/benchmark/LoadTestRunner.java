@@ -0,0 +1,215 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application on a random port, bulk-loads a skewed dataset with {@link LoadTestData} and replays
+ * a weighted mix of read endpoints from several client threads, then prints p50/p99 latency and throughput
+ * per endpoint. Everything is configured with {@code --loadtest.*} arguments; the defaults use an in-memory
+ * H2 database, and {@code --spring.datasource.url=...} points the run to a local Postgres with the schema.
+ * With {@code --loadtest.modes=platform,async,virtual} the application is started once per execution mode
+ * and the throughput of the modes is compared at the end; for example, 1k concurrent clients on the hot reads:
+ * {@code mvn -Ploadtest integration-test "-Dloadtest.args=--loadtest.modes=platform,async,virtual
+ * --loadtest.threads=1000 --loadtest.mix=search:1,bookings-owner:1"}. The virtual mode needs JDK 21 or later
+ * at runtime and runs as the async one otherwise.
+ */
+public class LoadTestRunner {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Environment environment;
+    private final LoadTestData data;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final List<String> endpoints = new ArrayList<>();
+
+    LoadTestRunner(ConfigurableApplicationContext context, LoadTestData data) {
+        this.environment = context.getEnvironment();
+        this.data = data;
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        for (String weighted : property("mix", "bookings:3,bookings-owner:2,items:2,search:2,requests:1").split(",")) {
+            String[] parts = weighted.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                endpoints.add(parts[0]);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String modes = new SimpleCommandLinePropertySource(args).getProperty("loadtest.modes");
+        if (modes == null) {
+            run(args, "loadtest");
+            return;
+        }
+        Map<String, Map<String, Double>> throughput = new LinkedHashMap<>();
+        for (String mode : modes.split(",")) {
+            System.out.printf("%nexecution mode %s%n", mode.trim());
+            throughput.put(mode.trim(), run(args, "loadtest-" + mode.trim(), "shareit.execution.mode=" + mode.trim()));
+        }
+        compare(throughput);
+    }
+
+    private static Map<String, Double> run(String[] args, String database, String... properties) throws Exception {
+        List<String> all = new ArrayList<>(List.of("server.port=0", "logging.level.ru.practicum.shareit=WARN"));
+        all.addAll(Arrays.asList(properties));
+        ConfigurableApplicationContext context = BenchmarkApplication.builder(database, all.toArray(new String[0]))
+                .web(WebApplicationType.SERVLET)
+                .run(args);
+        try {
+            Environment environment = context.getEnvironment();
+            LoadTestData data = new LoadTestData(context.getBean(JdbcTemplate.class),
+                    environment.getProperty("loadtest.seed", Long.class, 42L),
+                    environment.getProperty("loadtest.skew", Double.class, 1.1));
+            long started = System.nanoTime();
+            data.seed(environment.getProperty("loadtest.users", Integer.class, 1000),
+                    environment.getProperty("loadtest.items", Integer.class, 10000),
+                    environment.getProperty("loadtest.requests", Integer.class, 2000),
+                    environment.getProperty("loadtest.bookings", Integer.class, 200000),
+                    environment.getProperty("loadtest.comments", Integer.class, 20000));
+            System.out.printf("loaded %d users and %d items in %d ms%n", data.getUsers(), data.getItems(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return new LoadTestRunner(context, data).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    Map<String, Double> run() throws Exception {
+        int threads = Integer.parseInt(property("threads", "8"));
+        replay(threads, Duration.ofSeconds(Long.parseLong(property("warmup-seconds", "5"))));
+        Duration duration = Duration.ofSeconds(Long.parseLong(property("duration-seconds", "30")));
+        Map<String, List<Long>> latencies = replay(threads, duration);
+        return report(latencies, duration);
+    }
+
+    private Map<String, List<Long>> replay(int threads, Duration duration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<String, List<Long>>>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> client(deadline)));
+        }
+        Map<String, List<Long>> latencies = new TreeMap<>();
+        for (Future<Map<String, List<Long>>> future : futures) {
+            future.get().forEach((endpoint, values) -> latencies
+                    .computeIfAbsent(endpoint, key -> new ArrayList<>())
+                    .addAll(values));
+        }
+        executor.shutdown();
+        return latencies;
+    }
+
+    private Map<String, List<Long>> client(long deadline) throws Exception {
+        Random random = ThreadLocalRandom.current();
+        Map<String, List<Long>> latencies = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            String endpoint = endpoints.get(random.nextInt(endpoints.size()));
+            HttpRequest request = request(endpoint, random);
+            long started = System.nanoTime();
+            String key;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                key = response.statusCode() == 200 ? endpoint : endpoint + " (" + response.statusCode() + ")";
+            } catch (IOException e) {
+                key = endpoint + " (" + e.getClass().getSimpleName() + ")";
+            }
+            latencies.computeIfAbsent(key, k -> new ArrayList<>()).add(System.nanoTime() - started);
+        }
+        return latencies;
+    }
+
+    private HttpRequest request(String endpoint, Random random) {
+        long userId = data.skewedUserId(random);
+        String page = "from=" + random.nextInt(3) * 20 + "&size=20";
+        String state = STATES[random.nextInt(STATES.length)];
+        String path;
+        switch (endpoint) {
+            case "bookings":
+                path = "/bookings?state=" + state + "&" + page;
+                break;
+            case "bookings-owner":
+                path = "/bookings/owner?state=" + state + "&" + page;
+                break;
+            case "items":
+                path = "/items?" + page;
+                break;
+            case "search":
+                String text = BenchmarkData.NOUNS[random.nextInt(BenchmarkData.NOUNS.length)];
+                path = "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&" + page;
+                break;
+            case "requests":
+                userId = data.randomUserId();
+                path = "/requests/all?" + page;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown endpoint " + endpoint + " in loadtest.mix.");
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(USER_HEADER, Long.toString(userId))
+                .GET()
+                .build();
+    }
+
+    private Map<String, Double> report(Map<String, List<Long>> latencies, Duration duration) {
+        Map<String, Double> throughput = new TreeMap<>();
+        System.out.printf("%-24s %10s %10s %10s %12s%n", "endpoint", "requests", "p50, ms", "p99, ms", "req/s");
+        latencies.forEach((endpoint, values) -> {
+            Collections.sort(values);
+            double requestsPerSecond = values.size() / (double) duration.toSeconds();
+            throughput.put(endpoint, requestsPerSecond);
+            System.out.printf("%-24s %10d %10.2f %10.2f %12.1f%n", endpoint, values.size(),
+                    percentile(values, 0.50), percentile(values, 0.99), requestsPerSecond);
+        });
+        return throughput;
+    }
+
+    /**
+     * Prints requests per second of every endpoint side by side for the execution modes.
+     */
+    private static void compare(Map<String, Map<String, Double>> throughput) {
+        Set<String> endpoints = new TreeSet<>();
+        throughput.values().forEach(values -> endpoints.addAll(values.keySet()));
+        System.out.printf("%nreq/s%n%-24s", "endpoint");
+        throughput.keySet().forEach(mode -> System.out.printf(" %12s", mode));
+        System.out.println();
+        for (String endpoint : endpoints) {
+            System.out.printf("%-24s", endpoint);
+            throughput.values().forEach(values -> System.out.printf(" %12.1f", values.getOrDefault(endpoint, 0.0)));
+            System.out.println();
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    private String property(String name, String defaultValue) {
+        return environment.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.request.db.model.ItemRequest;
+import ru.practicum.shareit.user.db.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the generated mappers alone. The mapped methods do not use the repositories, so the mappers
+ * are created without a context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private Item item;
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User owner = user(1L);
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setId(1L);
+        itemRequest.setDescription("need a drill");
+        itemRequest.setRequestor(user(2L));
+        itemRequest.setCreated(LocalDateTime.now());
+        item = new Item();
+        item.setId(1L);
+        item.setName("cordless drill");
+        item.setDescription("drill for workshop");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(itemRequest);
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setItem(item);
+        booking.setBooker(user(3L));
+        booking.setStatus(BookingStatus.APPROVED);
+    }
+
+    @Benchmark
+    public BookingResponseDto toBookingDto() {
+        return bookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemResponseDto toItemDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user " + id);
+        user.setEmail("user" + id + "@shareit.test");
+        return user;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
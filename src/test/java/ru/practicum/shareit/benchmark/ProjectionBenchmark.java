@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares reading a page of owner bookings as managed entities with reading it as a constructor projection.
+ * Run with {@code -prof gc} to see the allocation rate per operation next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private EntityManager entityManager;
+    private BookingRepository bookingRepository;
+    private BookingMapper bookingMapper;
+    private TransactionTemplate transactionTemplate;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp(ShareItDataset dataset) {
+        entityManager = dataset.getBean(EntityManager.class);
+        bookingRepository = dataset.getBean(BookingRepository.class);
+        bookingMapper = dataset.getBean(BookingMapper.class);
+        transactionTemplate = new TransactionTemplate(dataset.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "start"));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> entities(ShareItDataset dataset) {
+        long ownerId = dataset.randomUserId();
+        return transactionTemplate.execute(status -> entityManager.createQuery("select b from Booking b " +
+                                "join fetch b.item i join fetch i.owner join fetch b.booker " +
+                                "where i.owner.id = :ownerId order by b.start desc", Booking.class)
+                .setParameter("ownerId", ownerId)
+                .setMaxResults(size)
+                .getResultList().stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> projection(ShareItDataset dataset) {
+        long ownerId = dataset.randomUserId();
+        return transactionTemplate.execute(status -> bookingRepository.findAllByState(BookingRole.OWNER, ownerId,
+                        BookingState.ALL, LocalDateTime.now(), pageable).stream()
+                .map(bookingMapper::toBookingDto)
+                .collect(Collectors.toList()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
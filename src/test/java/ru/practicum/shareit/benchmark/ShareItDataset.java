@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application context shared by the service benchmarks, seeded once per trial with a synthetic dataset.
+ * The search cache is off, so repeated searches measure the search itself.
+ * The sizes are JMH parameters, so they can be changed from the command line with {@code -p users=...}.
+ */
+@State(Scope.Benchmark)
+public class ShareItDataset {
+    @Param({"1000"})
+    public int users;
+
+    @Param({"10"})
+    public int itemsPerUser;
+
+    @Param({"20"})
+    public int bookingsPerItem;
+
+    @Param({"2"})
+    public int commentsPerItem;
+
+    @Param({"2"})
+    public int requestsPerUser;
+
+    @Param({"42"})
+    public long seed;
+
+    public ConfigurableApplicationContext context;
+    public int items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("dataset-" + System.nanoTime(),
+                "shareit.search.cache.max-entries=0");
+        items = users * itemsPerUser;
+        BenchmarkData data = new BenchmarkData(context.getBean(JdbcTemplate.class), seed);
+        data.seedUsers(users);
+        data.seedRequests(users, users * requestsPerUser);
+        data.seedItems(users, items, users * requestsPerUser);
+        data.seedBookings(users, items, items * bookingsPerItem);
+        data.seedComments(users, items, items * commentsPerItem);
+        context.getBean(ItemService.class).rebuildSearchIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long randomUserId() {
+        return 1 + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    public long randomItemId() {
+        return 1 + ThreadLocalRandom.current().nextInt(items);
+    }
+
+    public long randomAvailableItemId() {
+        long itemId = randomItemId();
+        return BenchmarkData.isAvailable(itemId) ? itemId : itemId - 1;
+    }
+
+    public long ownerOf(long itemId) {
+        return BenchmarkData.ownerOf(itemId, users);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.global.exception.BadStateException;
+import ru.practicum.shareit.global.exception.NotFoundException;
+import ru.practicum.shareit.global.execution.ExecutionConfiguration;
+import ru.practicum.shareit.global.execution.RequestExecutor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class, properties = "shareit.execution.mode=async")
+@Import({RequestExecutor.class, ExecutionConfiguration.class})
+class BookingControllerAsyncTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BookingService bookingService;
+
+    @Test
+    @SneakyThrows
+    void findBookingByState_whenAsyncMode_thenReturnedBookingsFromJdbcThread() {
+        BookingResponseDto bookingResponseDto = new BookingResponseDto();
+        bookingResponseDto.setId(1L);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        when(bookingService.getAllByState(2L, "ALL", 1, 10)).thenAnswer(invocation -> {
+            threadName.set(Thread.currentThread().getName());
+            return List.of(bookingResponseDto);
+        });
+
+        MvcResult result = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("from", String.valueOf(1))
+                        .param("size", String.valueOf(10)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        assertTrue(threadName.get().startsWith("jdbc-"));
+        verify(bookingService, times(1)).getAllByState(2L, "ALL", 1, 10);
+    }
+
+    @Test
+    @SneakyThrows
+    void findBookingByStateForOwner_whenAsyncMode_thenReturnedOwnerBookings() {
+        BookingResponseDto bookingResponseDto = new BookingResponseDto();
+        bookingResponseDto.setId(5L);
+        when(bookingService.getAllByOwnerAfter(1L, "PAST", "2030-01-01T12:00:00,5", 20))
+                .thenReturn(List.of(bookingResponseDto));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "PAST")
+                        .param("after", "2030-01-01T12:00:00,5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5));
+
+        verify(bookingService, times(1)).getAllByOwnerAfter(1L, "PAST", "2030-01-01T12:00:00,5", 20);
+    }
+
+    @Test
+    @SneakyThrows
+    void findBookingByState_whenAsyncModeAndStateUnknown_thenBadRequest() {
+        when(bookingService.getAllByState(1L, "UNKNOWN", 0, 20))
+                .thenThrow(new BadStateException("Unknown state: UNKNOWN"));
+
+        MvcResult result = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "UNKNOWN"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown state: UNKNOWN"));
+    }
+
+    @Test
+    @SneakyThrows
+    void findBookingByStateForOwner_whenAsyncModeAndUserNotFound_thenNotFound() {
+        when(bookingService.getAllByOwner(99L, "ALL", 0, 20))
+                .thenThrow(new NotFoundException("user with id = 99 not found."));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 99))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("user with id = 99 not found."));
+    }
+}
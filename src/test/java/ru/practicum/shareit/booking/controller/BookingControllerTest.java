@@ -6,15 +6,24 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.global.exception.BadStateException;
+import ru.practicum.shareit.global.execution.ExecutionConfiguration;
+import ru.practicum.shareit.global.execution.RequestExecutor;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -22,13 +31,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import({RequestExecutor.class, ExecutionConfiguration.class})
 class BookingControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
@@ -61,12 +74,40 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", 2)
                         .param("from", String.valueOf(1))
                         .param("size", String.valueOf(10)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted());
 
         verify(bookingService, times(1))
                 .getAllByState(anyLong(), anyString(), anyInt(), anyInt());
     }
 
+    @Test
+    @SneakyThrows
+    void getBookingSummary_whenUserFound_thenReturnedCounts() {
+        when(bookingService.getSummary(anyLong())).thenReturn(new BookingSummaryDto(3L, 1L, 1L, 1L, 2L, 0L));
+
+        mockMvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.waiting").value(2));
+
+        verify(bookingService, times(1)).getSummary(anyLong());
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingSummaryForOwner_whenUserFound_thenReturnedCounts() {
+        when(bookingService.getOwnerSummary(anyLong())).thenReturn(new BookingSummaryDto(1L, 0L, 1L, 0L, 0L, 0L));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.past").value(1));
+
+        verify(bookingService, times(1)).getOwnerSummary(anyLong());
+    }
+
     @Test
     @SneakyThrows
     void findBookingByStateForOwner_whenUserFoundAndDefaultState_thenReturnedAllOwnerBookings() {
@@ -77,12 +118,48 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", 1)
                         .param("from", String.valueOf(1))
                         .param("size", String.valueOf(10)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted());
 
         verify(bookingService, times(1))
                 .getAllByOwner(anyLong(), anyString(), anyInt(), anyInt());
     }
 
+    @Test
+    @SneakyThrows
+    void findBookingByState_whenCursorGiven_thenReturnedBookingsAfterCursor() {
+        when(bookingService.getAllByStateAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("after", "2030-01-01T12:00:00,5")
+                        .param("size", String.valueOf(10)))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted());
+
+        verify(bookingService, times(1))
+                .getAllByStateAfter(2L, "ALL", "2030-01-01T12:00:00,5", 10);
+        verify(bookingService, times(0)).getAllByState(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void findBookingByStateForOwner_whenCursorGiven_thenReturnedOwnerBookingsAfterCursor() {
+        when(bookingService.getAllByOwnerAfter(anyLong(), anyString(), anyString(), anyInt()))
+                .thenReturn(List.of(bookingResponseDto));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "FUTURE")
+                        .param("after", "2030-01-01T12:00:00,5"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted());
+
+        verify(bookingService, times(1))
+                .getAllByOwnerAfter(1L, "FUTURE", "2030-01-01T12:00:00,5", 20);
+    }
+
     @Test
     @SneakyThrows
     void saveBooking_whenRequestToSaveBooking_thenSavedAndReturnedBooking() {
@@ -155,4 +232,85 @@ class BookingControllerTest {
 
         verify(bookingService, times(0)).changeStatus(anyLong(), anyLong(), anyBoolean());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void changeBookingStatuses_whenBatchGiven_thenReturnedResultPerEntry() {
+        List<BookingStatusChangeDto> changes = List.of(new BookingStatusChangeDto(3L, true),
+                new BookingStatusChangeDto(4L, false));
+
+        when(bookingService.changeStatuses(anyLong(), anyList())).thenReturn(List.of(
+                BookingBatchResultDto.ok(3L, BookingStatus.APPROVED),
+                BookingBatchResultDto.failed(4L, "booking status has already been confirmed")));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", 3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].bookingId").value(4))
+                .andExpect(jsonPath("$[1].error").value("booking status has already been confirmed"));
+
+        verify(bookingService, times(1)).changeStatuses(anyLong(), anyList());
+        verify(bookingService, times(0)).changeStatus(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    @SneakyThrows
+    void saveBookings_whenBatchGiven_thenReturnedResultPerEntry() {
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setItemId(1L);
+        bookingRequestDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingRequestDto.setEnd(LocalDateTime.now().plusDays(2));
+
+        when(bookingService.saveAll(anyLong(), anyList())).thenReturn(List.of(
+                BookingBatchResultDto.ok(6L, BookingStatus.WAITING),
+                BookingBatchResultDto.failed(null, "item cannot be booked for these dates.")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequestDto, bookingRequestDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(6))
+                .andExpect(jsonPath("$[0].status").value("WAITING"))
+                .andExpect(jsonPath("$[1].error").value("item cannot be booked for these dates."));
+
+        verify(bookingService, times(1)).saveAll(anyLong(), anyList());
+        verify(bookingService, times(0)).save(any());
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookingsForOwner_whenUserFound_thenStreamedNdjson() {
+        when(bookingService.exportAllByOwner(anyLong(), anyString()))
+                .thenReturn(out -> out.write("{\"id\":1}\n{\"id\":5}\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "PAST"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(600000L, result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":5}\n"));
+
+        verify(bookingService, times(1)).exportAllByOwner(1L, "PAST");
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookings_whenStateUnknown_thenBadRequest() {
+        when(bookingService.exportAllByState(anyLong(), anyString()))
+                .thenThrow(new BadStateException("Unknown state: UNKNOWN"));
+
+        mockMvc.perform(get("/bookings/export")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("state", "UNKNOWN"))
+                .andExpect(status().isBadRequest());
+    }
+}
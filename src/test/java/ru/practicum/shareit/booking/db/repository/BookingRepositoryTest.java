@@ -3,15 +3,24 @@ package ru.practicum.shareit.booking.db.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +28,8 @@ import static org.junit.jupiter.api.Assertions.*;
 class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     private final Long user1 = 1L;
     private final Long user2 = 2L;
@@ -30,147 +41,202 @@ class BookingRepositoryTest {
     private final Pageable pageable = PageRequest.of(0, 10, Sort.Direction.DESC, "start");
 
     @Test
-    void findAllByBookerId_whenBookerIdFound_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findAllByBookerId(user1, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getBooker().getId());
+    void findAllByState_whenBookerAll_thenReturnedBookings() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.BOOKER, user1, BookingState.ALL);
+        assertEquals(1, bookings.size());
+        assertEquals(user1, bookings.get(0).getBookerId());
 
-        bookings = bookingRepository.findAllByBookerId(userNotFound, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.BOOKER, userNotFound, BookingState.ALL);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findBookingsByBookerIdAndEndIsBefore_whenBookerIdFoundAndEndDateIsBeforeNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findBookingsByBookerIdAndEndIsBefore(user1, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getBooker().getId());
+    void findAllByState_whenBookerPast_thenReturnedBookingsEndedBeforeNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.BOOKER, user1, BookingState.PAST);
+        assertEquals(1, bookings.size());
+        assertEquals(user1, bookings.get(0).getBookerId());
 
-        bookings = bookingRepository.findBookingsByBookerIdAndEndIsBefore(user3, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.BOOKER, user3, BookingState.PAST);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findBookingsByBookerIdAndStartAfter_whenBookerIdFoundAndStartDateIsAfterNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findBookingsByBookerIdAndStartAfter(user3, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user3, bookings.getContent().get(0).getBooker().getId());
+    void findAllByState_whenBookerFuture_thenReturnedBookingsStartedAfterNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.BOOKER, user3, BookingState.FUTURE);
+        assertEquals(1, bookings.size());
+        assertEquals(user3, bookings.get(0).getBookerId());
 
-        bookings = bookingRepository.findBookingsByBookerIdAndStartAfter(user1, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.BOOKER, user1, BookingState.FUTURE);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findBookingsByBookerIdAndStatus_whenBookerIdFoundAndStatusFound_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findBookingsByBookerIdAndStatus(user3, BookingStatus.APPROVED, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user3, bookings.getContent().get(0).getBooker().getId());
+    void findAllByState_whenBookerWaitingOrRejected_thenReturnedBookingsWithStatus() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.BOOKER, user2, BookingState.WAITING);
+        assertEquals(1, bookings.size());
+        assertEquals(user2, bookings.get(0).getBookerId());
+        assertEquals(BookingStatus.WAITING, bookings.get(0).getStatus());
 
-        bookings = bookingRepository.findBookingsByBookerIdAndStatus(user2, BookingStatus.WAITING, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user2, bookings.getContent().get(0).getBooker().getId());
+        bookings = findAllByState(BookingRole.BOOKER, user3, BookingState.REJECTED);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findCurrent_whenBookingsCurrentNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findCurrent(user3, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user3, bookings.getContent().get(0).getBooker().getId());
+    void findAllByState_whenBookerCurrent_thenReturnedBookingsCurrentNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.BOOKER, user3, BookingState.CURRENT);
+        assertEquals(1, bookings.size());
+        assertEquals(user3, bookings.get(0).getBookerId());
 
-        bookings = bookingRepository.findCurrent(user1, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.BOOKER, user1, BookingState.CURRENT);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findByOwnerId_whenOwnerIdFound_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findByOwnerId(user1, pageable);
-        assertEquals(2, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getItem().getOwner().getId());
+    void findAllByState_whenOwnerAll_thenReturnedBookingsNewestFirst() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user1, BookingState.ALL);
+        assertEquals(2, bookings.size());
+        assertEquals(user1, bookings.get(0).getOwnerId());
+        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
 
-        bookings = bookingRepository.findByOwnerId(userNotFound, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.OWNER, userNotFound, BookingState.ALL);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findCurrentByOwnerId_whenOwnerIdFoundAndBookingsCurrentNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findCurrentByOwnerId(user2, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user2, bookings.getContent().get(0).getItem().getOwner().getId());
+    void findAllByState_whenSecondPage_thenReturnedNextBookings() {
+        List<BookingViewDto> firstPage = bookingRepository.findAllByState(BookingRole.OWNER, user1, BookingState.ALL,
+                time, PageRequest.of(0, 1));
+        List<BookingViewDto> secondPage = bookingRepository.findAllByState(BookingRole.OWNER, user1,
+                BookingState.ALL, time, PageRequest.of(1, 1));
+
+        assertEquals(1, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertTrue(firstPage.get(0).getStart().isAfter(secondPage.get(0).getStart()));
+    }
 
-        bookings = bookingRepository.findCurrentByOwnerId(user1, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+    @Test
+    void findAllByState_whenItemOwnerChanged_thenBookingsFollowOwner() {
+        jdbcTemplate.update("update items set owner_id = ? where id = ?", user2, item1);
+
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user2, BookingState.ALL);
+        assertEquals(4, bookings.size());
+        assertEquals(0, findAllByState(BookingRole.OWNER, user1, BookingState.ALL).size());
+    }
+
+    @Test
+    void findAllByState_whenOwnerCurrent_thenReturnedBookingsCurrentNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user2, BookingState.CURRENT);
+        assertEquals(1, bookings.size());
+        assertEquals(user2, bookings.get(0).getOwnerId());
+
+        bookings = findAllByState(BookingRole.OWNER, user1, BookingState.CURRENT);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findPastByOwnerId_whenOwnerIdFoundAndBookingsPastNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findPastByOwnerId(user1, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getItem().getOwner().getId());
+    void findAllByState_whenOwnerPast_thenReturnedBookingsEndedBeforeNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user1, BookingState.PAST);
+        assertEquals(1, bookings.size());
+        assertEquals(user1, bookings.get(0).getOwnerId());
 
-        bookings = bookingRepository.findPastByOwnerId(user3, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.OWNER, user3, BookingState.PAST);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findFutureByOwnerId_whenOwnerIdFoundAndBookingsFutureNow_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findFutureByOwnerId(user1, time, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getItem().getOwner().getId());
+    void findAllByState_whenOwnerFuture_thenReturnedBookingsStartedAfterNow() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user1, BookingState.FUTURE);
+        assertEquals(1, bookings.size());
+        assertEquals(user1, bookings.get(0).getOwnerId());
 
-        bookings = bookingRepository.findFutureByOwnerId(user2, time, pageable);
-        assertEquals(0, bookings.getContent().size());
+        bookings = findAllByState(BookingRole.OWNER, user2, BookingState.FUTURE);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findByOwnerIdAndByStatus_whenOwnerIdFoundAndStatusFound_thenReturnedBookings() {
-        Page<Booking> bookings = bookingRepository.findByOwnerIdAndByStatus(user1, BookingStatus.APPROVED, pageable);
-        assertEquals(2, bookings.getContent().size());
-        assertEquals(user1, bookings.getContent().get(0).getItem().getOwner().getId());
+    void findAllByState_whenOwnerWaiting_thenReturnedBookingsWithStatus() {
+        List<BookingViewDto> bookings = findAllByState(BookingRole.OWNER, user3, BookingState.WAITING);
+        assertEquals(1, bookings.size());
+        assertEquals(user3, bookings.get(0).getOwnerId());
 
-        bookings = bookingRepository.findByOwnerIdAndByStatus(user3, BookingStatus.WAITING, pageable);
-        assertEquals(1, bookings.getContent().size());
-        assertEquals(user3, bookings.getContent().get(0).getItem().getOwner().getId());
+        bookings = findAllByState(BookingRole.OWNER, user1, BookingState.WAITING);
+        assertEquals(0, bookings.size());
     }
 
     @Test
-    void findLastAndNextById_whenItemIdFound_thenReturnedLastAndNextBookings() {
-        List<Booking> bookings = bookingRepository.findLastAndNextById(item1, time);
+    void streamAllByState_whenOwner_thenStreamedAllBookingsNewestFirst() {
+        List<BookingViewDto> bookings;
+        try (Stream<BookingViewDto> stream = bookingRepository.streamAllByState(BookingRole.OWNER, user1,
+                BookingState.ALL, time, 1)) {
+            bookings = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(findAllByState(BookingRole.OWNER, user1, BookingState.ALL).stream()
+                        .map(BookingViewDto::getId)
+                        .collect(Collectors.toList()),
+                bookings.stream()
+                        .map(BookingViewDto::getId)
+                        .collect(Collectors.toList()));
         assertEquals(2, bookings.size());
-        assertEquals(item1, bookings.get(0).getItem().getId());
-        assertTrue(bookings.get(1).getStart().isBefore(time));
-        assertTrue(bookings.get(0).getStart().isAfter(time));
+    }
 
-        bookings = bookingRepository.findLastAndNextById(item2, time);
-        assertEquals(1, bookings.size());
-        assertEquals(item2, bookings.get(0).getItem().getId());
-        assertTrue(bookings.get(0).getStart().isBefore(time));
+    @Test
+    void getSummaryByBookerId_whenBookerFound_thenReturnedCountsByState() {
+        BookingSummaryDto summary = bookingRepository.getSummaryByBookerId(user3, time);
+        assertEquals(2, summary.getAll());
+        assertEquals(1, summary.getCurrent());
+        assertEquals(0, summary.getPast());
+        assertEquals(1, summary.getFuture());
+        assertEquals(1, summary.getWaiting());
+        assertEquals(0, summary.getRejected());
+
+        summary = bookingRepository.getSummaryByBookerId(userNotFound, time);
+        assertEquals(0, summary.getAll());
+        assertEquals(0, summary.getWaiting());
+    }
+
+    @Test
+    void getSummaryByOwnerId_whenOwnerFound_thenReturnedCountsByState() {
+        BookingSummaryDto summary = bookingRepository.getSummaryByOwnerId(user1, time);
+        assertEquals(2, summary.getAll());
+        assertEquals(0, summary.getCurrent());
+        assertEquals(1, summary.getPast());
+        assertEquals(1, summary.getFuture());
+        assertEquals(0, summary.getWaiting());
+        assertEquals(0, summary.getRejected());
     }
 
     @Test
     void findLastAndNextByIdList_whenItemIdFound_thenReturnedLastAndNextBookings() {
         List<Long> itemIds = List.of(item1, item2);
 
-        List<Booking> bookings = bookingRepository.findLastAndNextByIdList(itemIds, time);
+        List<BookingBookerDto> bookings = bookingRepository.findLastAndNextByIdList(itemIds, time);
         assertEquals(3, bookings.size());
-        assertEquals(item1, bookings.get(0).getItem().getId());
-        assertEquals(item1, bookings.get(1).getItem().getId());
-        assertEquals(item2, bookings.get(2).getItem().getId());
+        assertEquals(item1, bookings.get(0).getItemId());
+        assertEquals(item1, bookings.get(1).getItemId());
+        assertEquals(item2, bookings.get(2).getItemId());
         assertTrue(bookings.get(1).getStart().isBefore(time));
         assertTrue(bookings.get(0).getStart().isAfter(time));
         assertTrue(bookings.get(2).getStart().isBefore(time));
+        assertNotNull(bookings.get(0).getBookerId());
     }
 
     @Test
-    void findFreeInterval_whenItemFoundAndIntervalFree_thenReturnedEmptyList() {
-        List<Booking> bookings = bookingRepository.findFreeInterval(item2, LocalDateTime.now(),
-                LocalDateTime.now().plusDays(1));
-        assertEquals(0, bookings.size());
+    void findApprovedIntervalsEndingAfter_whenItemHasPastAndFutureBookings_thenReturnedOnlyNotEnded() {
+        List<BookingIntervalDto> intervals = bookingRepository.findApprovedIntervalsEndingAfter(List.of(item1), time);
+
+        assertEquals(1, intervals.size());
+        assertEquals(item1, intervals.get(0).getItemId());
+        assertTrue(intervals.get(0).getStart().isAfter(time));
     }
 
     @Test
-    void findFreeInterval_whenItemFoundAndIntervalTaken_thenReturnedEmptyList() {
-        List<Booking> bookings = bookingRepository.findFreeInterval(item1, LocalDateTime.now(),
-                LocalDateTime.now().plusDays(3));
-        assertEquals(1, bookings.size());
+    void findApprovedIntervalsEndingAfter_whenAllItems_thenReturnedOnlyNotEnded() {
+        List<BookingIntervalDto> intervals = bookingRepository.findApprovedIntervalsEndingAfter(time);
+
+        assertEquals(1, intervals.size());
+        assertEquals(item1, intervals.get(0).getItemId());
+        assertFalse(intervals.get(0).getEnd().isBefore(time));
     }
 
     @Test
@@ -178,4 +244,39 @@ class BookingRepositoryTest {
         Booking booking = bookingRepository.findByItemIdAndBookerIdAndStatusApproved(item1, user2, time);
         assertEquals(item1, booking.getItem().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllAfter_whenCursorGiven_thenReturnedBookingsAfterCursor() {
+        List<BookingViewDto> bookings = findAllAfter(BookingRole.BOOKER, user3, BookingState.ALL, null, 10);
+        assertEquals(2, bookings.size());
+        assertTrue(bookings.get(0).getStart().isAfter(bookings.get(1).getStart()));
+
+        BookingViewDto last = bookings.get(0);
+        bookings = findAllAfter(BookingRole.BOOKER, user3, BookingState.ALL,
+                new BookingCursor(last.getStart(), last.getId()), 10);
+        assertEquals(1, bookings.size());
+        assertTrue(bookings.get(0).getStart().isBefore(last.getStart()));
+    }
+
+    @Test
+    void findAllAfter_whenOwnerAndState_thenReturnedPageOfSize() {
+        List<BookingViewDto> bookings = findAllAfter(BookingRole.OWNER, user1, BookingState.FUTURE, null, 1);
+        assertEquals(1, bookings.size());
+        assertEquals(user1, bookings.get(0).getOwnerId());
+        assertTrue(bookings.get(0).getStart().isAfter(time));
+
+        BookingViewDto last = bookings.get(0);
+        bookings = findAllAfter(BookingRole.OWNER, user1, BookingState.FUTURE,
+                new BookingCursor(last.getStart(), last.getId()), 1);
+        assertEquals(0, bookings.size());
+    }
+
+    private List<BookingViewDto> findAllByState(BookingRole role, Long userId, BookingState state) {
+        return bookingRepository.findAllByState(role, userId, state, time, pageable);
+    }
+
+    private List<BookingViewDto> findAllAfter(BookingRole role, Long userId, BookingState state, BookingCursor after,
+                                              int size) {
+        return bookingRepository.findAllAfter(role, userId, state, time, after, size);
+    }
+}
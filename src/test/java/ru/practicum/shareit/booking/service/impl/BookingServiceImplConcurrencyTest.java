@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.global.exception.NotItemAvailableException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingServiceImplConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Long ownerId = 1L;
+    private final Long itemId = 1L;
+
+    @Test
+    void changeStatus_whenOverlappingBookingsApprovedConcurrently_thenOnlyOneApproved() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(bookingService.save(bookingRequest(start.plusHours(i), start.plusDays(2)))
+                    .getId());
+        }
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        runConcurrently(bookingIds, bookingId -> {
+            try {
+                bookingService.changeStatus(ownerId, bookingId, true);
+                approved.incrementAndGet();
+            } catch (NotItemAvailableException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, approved.get());
+        assertEquals(THREADS - 1, refused.get());
+        assertEquals(1, bookingRepository.findAllById(bookingIds).stream()
+                .map(Booking::getStatus)
+                .filter(BookingStatus.APPROVED::equals)
+                .count());
+    }
+
+    @Test
+    void save_whenDifferentItemsBookedConcurrently_thenAllSaved() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(60);
+        AtomicInteger saved = new AtomicInteger();
+
+        runConcurrently(List.of(1L, 3L, 1L, 3L, 1L, 3L, 1L, 3L), bookedItemId -> {
+            BookingRequestDto bookingRequestDto = bookingRequest(start, start.plusDays(1));
+            bookingRequestDto.setItemId(bookedItemId);
+            bookingService.save(bookingRequestDto);
+            saved.incrementAndGet();
+        });
+
+        assertEquals(THREADS, saved.get());
+    }
+
+    private BookingRequestDto bookingRequest(LocalDateTime start, LocalDateTime end) {
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setItemId(itemId);
+        bookingRequestDto.setBookerId(2L);
+        bookingRequestDto.setStart(start);
+        bookingRequestDto.setEnd(end);
+        return bookingRequestDto;
+    }
+
+    private void runConcurrently(List<Long> ids, Consumer<Long> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Long id : ids) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    action.accept(id);
+                    return null;
+                }));
+            }
+            startSignal.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
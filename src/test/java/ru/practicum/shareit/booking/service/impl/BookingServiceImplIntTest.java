@@ -1,25 +1,49 @@
 package ru.practicum.shareit.booking.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.db.model.Booking;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.global.metrics.SqlStatementCounter;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.user.db.model.User;
+import ru.practicum.shareit.user.db.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "shareit.query-budget.fail-on-exceed=true")
 @Transactional
 class BookingServiceImplIntTest {
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @Test
     void getById() {
@@ -47,6 +71,60 @@ class BookingServiceImplIntTest {
         assertEquals(bookings.get(1).getItem().getId(), 1L);
     }
 
+    @Test
+    @SneakyThrows
+    void exportAllByOwner() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bookingService.exportAllByOwner(1L, "ALL").writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(lines.length, 2);
+        BookingResponseDto first = objectMapper.readValue(lines[0], BookingResponseDto.class);
+        BookingResponseDto second = objectMapper.readValue(lines[1], BookingResponseDto.class);
+        assertEquals(first.getId(), 1L);
+        assertEquals(first.getItem().getOwner().getId(), 1L);
+        assertEquals(second.getId(), 5L);
+    }
+
+    @Test
+    void getAllByOwner_whenPageGrows_thenSameStatementCount() {
+        List<User> bookers = userRepository.findAllById(List.of(2L, 3L, 4L));
+        User owner = userRepository.getReferenceById(1L);
+        for (int i = 0; i < 12; i++) {
+            Item item = new Item();
+            item.setName("drill " + i);
+            item.setDescription("spare drill");
+            item.setAvailable(true);
+            item.setOwner(owner);
+            itemRepository.save(item);
+            Booking booking = new Booking();
+            booking.setStart(LocalDateTime.now().plusDays(i + 10));
+            booking.setEnd(LocalDateTime.now().plusDays(i + 11));
+            booking.setItem(item);
+            booking.setItemOwnerId(owner.getId());
+            booking.setBooker(bookers.get(i % bookers.size()));
+            booking.setStatus(BookingStatus.WAITING);
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        bookingService.getAllByOwner(1L, "ALL", 0, 1);
+        entityManager.clear();
+
+        long start = SqlStatementCounter.current();
+        List<BookingResponseDto> onePage = bookingService.getAllByOwner(1L, "ALL", 0, 1);
+        long onePageStatements = SqlStatementCounter.current() - start;
+        entityManager.clear();
+        start = SqlStatementCounter.current();
+        List<BookingResponseDto> fullPage = bookingService.getAllByOwner(1L, "ALL", 0, 20);
+        long fullPageStatements = SqlStatementCounter.current() - start;
+
+        assertEquals(1, onePage.size());
+        assertEquals(14, fullPage.size());
+        assertEquals(onePageStatements, fullPageStatements);
+    }
+
     @Test
     void save() {
         BookingRequestDto bookingRequestDto = new BookingRequestDto();
@@ -58,7 +136,7 @@ class BookingServiceImplIntTest {
         BookingResponseDto bookingResponseDto = bookingService.save(bookingRequestDto);
 
         assertNotNull(bookingResponseDto);
-        assertEquals(bookingResponseDto.getId(), 6L);
+        assertTrue(bookingResponseDto.getId() > 5L);
         assertEquals(bookingResponseDto.getItem().getId(), 3L);
         assertEquals(bookingResponseDto.getBooker().getId(), 2L);
     }
@@ -70,4 +148,41 @@ class BookingServiceImplIntTest {
         assertNotNull(bookingResponseDto);
         assertEquals(bookingResponseDto.getStatus(), BookingStatus.APPROVED);
     }
-}
\ No newline at end of file
+
+    @Test
+    void changeStatuses() {
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(3L,
+                List.of(new BookingStatusChangeDto(3L, true), new BookingStatusChangeDto(1L, false)));
+
+        assertEquals(results.get(0).getStatus(), BookingStatus.APPROVED);
+        assertNotNull(results.get(1).getError());
+        assertEquals(bookingService.getById(3L, 3L).getStatus(), BookingStatus.APPROVED);
+        assertEquals(bookingService.getById(3L, 1L).getStatus(), BookingStatus.APPROVED);
+    }
+
+    @Test
+    void saveAll() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<BookingRequestDto> bookingDtos = List.of(bookingRequest(1L, start), bookingRequest(3L, start),
+                bookingRequest(3L, start.plusHours(1)), bookingRequest(2L, start));
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(4L, bookingDtos);
+
+        assertEquals(results.size(), 4);
+        assertEquals(results.get(0).getStatus(), BookingStatus.WAITING);
+        assertEquals(results.get(1).getStatus(), BookingStatus.WAITING);
+        assertNotNull(results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        BookingResponseDto saved = bookingService.getById(4L, results.get(1).getBookingId());
+        assertEquals(saved.getItem().getId(), 3L);
+        assertEquals(saved.getBooker().getId(), 4L);
+    }
+
+    private BookingRequestDto bookingRequest(Long itemId, LocalDateTime start) {
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setItemId(itemId);
+        bookingRequestDto.setStart(start);
+        bookingRequestDto.setEnd(start.plusDays(1));
+        return bookingRequestDto;
+    }
+}
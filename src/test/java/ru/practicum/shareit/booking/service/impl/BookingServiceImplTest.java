@@ -6,24 +6,46 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.db.model.Booking;
+import ru.practicum.shareit.booking.db.model.enums.BookingRole;
+import ru.practicum.shareit.booking.db.model.enums.BookingState;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
 import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusChangeDto;
+import ru.practicum.shareit.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.service.export.BookingExporter;
+import ru.practicum.shareit.booking.service.index.BookingIntervalIndex;
+import ru.practicum.shareit.global.concurrency.ItemLocks;
 import ru.practicum.shareit.global.exception.*;
 import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.user.db.model.User;
+import ru.practicum.shareit.user.db.repository.UserRepository;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityNotFoundException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -34,12 +56,26 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
     private UserService userService;
     @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private ItemLocks itemLocks;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private BookingExporter bookingExporter;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     private final User user1 = new User();
     private final User user2 = new User();
     private final Item item1 = new Item();
@@ -52,7 +88,8 @@ class BookingServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingServiceImpl(bookingRepository, userService, bookingMapper);
+        bookingService = new BookingServiceImpl(bookingRepository, itemRepository, userRepository, userService,
+                bookingMapper, bookingIntervalIndex, itemLocks, eventPublisher, validator, bookingExporter);
 
         user1.setId(1L);
         user1.setName("user");
@@ -70,6 +107,7 @@ class BookingServiceImplTest {
 
         booking1.setId(1L);
         booking1.setItem(item1);
+        booking1.setItemOwnerId(user1.getId());
         booking1.setBooker(user2);
         booking1.setStart(LocalDateTime.now());
         booking1.setEnd(booking1.getStart().plusDays(1));
@@ -86,12 +124,12 @@ class BookingServiceImplTest {
         Long ownerId = 2L;
 
         when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
-        when(bookingMapper.toBookingDto(any())).thenReturn(toBookingDto(booking1));
+        when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(toBookingDto(booking1));
 
         BookingResponseDto actualBooking = bookingService.getById(ownerId, bookingId);
 
         verify(bookingRepository, times(1)).getReferenceById(anyLong());
-        verify(bookingMapper, times(1)).toBookingDto(any());
+        verify(bookingMapper, times(1)).toBookingDto(any(Booking.class));
         assertEquals(actualBooking.getId(), booking1.getId());
     }
 
@@ -111,154 +149,296 @@ class BookingServiceImplTest {
 
     @Test
     void getAllByOwner_whenStateDefault_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findByOwnerId(anyLong(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.ALL), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "ALL", 0, 10);
 
-        verify(bookingRepository, times(1)).findByOwnerId(anyLong(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.ALL), any(), eq(PageRequest.of(0, 10)));
     }
 
     @Test
     void getAllByOwner_whenStateCurrent_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findCurrentByOwnerId(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.CURRENT), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "CURRENT", 0, 10);
 
-        verify(bookingRepository, times(1)).findCurrentByOwnerId(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.CURRENT), any(), any());
     }
 
     @Test
     void getAllByOwner_whenStatePast_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findPastByOwnerId(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.PAST), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "PAST", 0, 10);
 
-        verify(bookingRepository, times(1)).findPastByOwnerId(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.PAST), any(), any());
     }
 
     @Test
     void getAllByOwner_whenStateFuture_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findFutureByOwnerId(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.FUTURE), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "FUTURE", 0, 10);
 
-        verify(bookingRepository, times(1)).findFutureByOwnerId(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.FUTURE), any(), any());
     }
 
     @Test
     void getAllByOwner_whenStateRejected_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findByOwnerIdAndByStatus(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.REJECTED), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "REJECTED", 0, 10);
 
-        verify(bookingRepository, times(1)).findByOwnerIdAndByStatus(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.REJECTED), any(), any());
     }
 
     @Test
     void getAllByOwner_whenStateWaiting_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findByOwnerIdAndByStatus(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.OWNER), anyLong(), eq(BookingState.WAITING), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByOwner(userId, "WAITING", 0, 10);
 
-        verify(bookingRepository, times(1)).findByOwnerIdAndByStatus(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.OWNER), anyLong(),
+                eq(BookingState.WAITING), any(), any());
     }
 
     @Test
     void getAllByOwner_whenStateUnknown_thenBadStateException() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
+        when(userService.exists(anyLong())).thenReturn(true);
 
         assertThrows(BadStateException.class, () -> bookingService.getAllByOwner(userId, "UNKNOWN", 0, 10));
     }
 
+    @Test
+    void getAllByOwner_whenUserNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllByOwner(userNotFound, "ALL", 0, 10));
+        verify(bookingRepository, times(0)).findAllByState(any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void getAllByState_whenUserNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllByState(userNotFound, "ALL", 0, 10));
+        verify(bookingRepository, times(0)).findAllByState(any(), anyLong(), any(), any(), any());
+    }
+
     @Test
     void getAllByState_whenStateDefault_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.ALL), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "ALL", 0, 10);
 
-        verify(bookingRepository, times(1)).findAllByBookerId(anyLong(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.ALL), any(), any());
     }
 
     @Test
     void getAllByState_whenStateCurrent_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findCurrent(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.CURRENT), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "CURRENT", 0, 10);
 
-        verify(bookingRepository, times(1)).findCurrent(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.CURRENT), any(), any());
     }
 
     @Test
     void getAllByState_whenStatePast_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findBookingsByBookerIdAndEndIsBefore(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.PAST), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "PAST", 0, 10);
 
-        verify(bookingRepository, times(1)).findBookingsByBookerIdAndEndIsBefore(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.PAST), any(), any());
     }
 
     @Test
     void getAllByState_whenStateFuture_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findBookingsByBookerIdAndStartAfter(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.FUTURE), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "FUTURE", 0, 10);
 
-        verify(bookingRepository, times(1)).findBookingsByBookerIdAndStartAfter(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.FUTURE), any(), any());
     }
 
     @Test
     void getAllByState_whenStateRejected_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findBookingsByBookerIdAndStatus(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.REJECTED), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "REJECTED", 0, 10);
 
-        verify(bookingRepository, times(1)).findBookingsByBookerIdAndStatus(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.REJECTED), any(), any());
     }
 
     @Test
     void getAllByState_whenStateWaiting_thenReturnedBookings() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
-        when(bookingRepository.findBookingsByBookerIdAndStatus(anyLong(), any(), any())).thenReturn(Page.empty());
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllByState(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.WAITING), any(),
+                any())).thenReturn(List.of());
 
         bookingService.getAllByState(userId, "WAITING", 0, 10);
 
-        verify(bookingRepository, times(1)).findBookingsByBookerIdAndStatus(anyLong(), any(), any());
+        verify(bookingRepository, times(1)).findAllByState(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.WAITING), any(), any());
     }
 
     @Test
     void getAllByState_whenStateUnknown_thenBadStateException() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
+        when(userService.exists(anyLong())).thenReturn(true);
 
         assertThrows(BadStateException.class, () -> bookingService.getAllByState(userId, "UNKNOWN", 0, 10));
     }
 
+    @Test
+    void getAllByStateAfter_whenCursorGiven_thenReturnedBookings() {
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllAfter(eq(BookingRole.BOOKER), anyLong(), eq(BookingState.FUTURE), any(), any(),
+                anyInt())).thenReturn(List.of(mock(BookingViewDto.class)));
+        when(bookingMapper.toBookingDto(any(BookingViewDto.class))).thenReturn(toBookingDto(booking1));
+
+        List<BookingResponseDto> bookings = bookingService.getAllByStateAfter(userId, "FUTURE",
+                "2030-01-01T12:00:00,5", 10);
+
+        verify(bookingRepository, times(1)).findAllAfter(eq(BookingRole.BOOKER), anyLong(),
+                eq(BookingState.FUTURE), any(), argThat(cursor -> cursor.getId() == 5L), eq(10));
+        assertEquals(1, bookings.size());
+    }
+
+    @Test
+    void getAllByOwnerAfter_whenCursorGiven_thenReturnedBookings() {
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.findAllAfter(eq(BookingRole.OWNER), anyLong(), eq(BookingState.ALL), any(), any(),
+                anyInt())).thenReturn(Collections.emptyList());
+
+        bookingService.getAllByOwnerAfter(userId, "ALL", "2030-01-01T12:00:00,5", 10);
+
+        verify(bookingRepository, times(1)).findAllAfter(eq(BookingRole.OWNER), anyLong(), eq(BookingState.ALL),
+                any(), any(), eq(10));
+    }
+
+    @Test
+    void getAllByOwnerAfter_whenBadCursor_thenBadPageRequestException() {
+        when(userService.exists(anyLong())).thenReturn(true);
+
+        assertThrows(BadPageRequestException.class,
+                () -> bookingService.getAllByOwnerAfter(userId, "ALL", "yesterday", 10));
+    }
+
+    @Test
+    void getAllByStateAfter_whenStateUnknown_thenBadStateException() {
+        when(userService.exists(anyLong())).thenReturn(true);
+
+        assertThrows(BadStateException.class,
+                () -> bookingService.getAllByStateAfter(userId, "UNKNOWN", "2030-01-01T12:00:00,5", 10));
+    }
+
+    @Test
+    void exportAllByOwner_whenUserFound_thenReturnedOwnerExport() {
+        StreamingResponseBody body = OutputStream::flush;
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingExporter.export(eq(BookingRole.OWNER), eq(userId), eq(BookingState.PAST), any()))
+                .thenReturn(body);
+
+        assertSame(body, bookingService.exportAllByOwner(userId, "PAST"));
+    }
+
+    @Test
+    void exportAllByState_whenUserNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.exportAllByState(userNotFound, "ALL"));
+        verify(bookingExporter, times(0)).export(any(), anyLong(), any(), any());
+    }
+
+    @Test
+    void exportAllByState_whenStateUnknown_thenBadStateException() {
+        assertThrows(BadStateException.class, () -> bookingService.exportAllByState(userId, "UNKNOWN"));
+        verify(userService, times(0)).exists(anyLong());
+    }
+
+    @Test
+    void getSummary_whenUserFound_thenReturnedSummary() {
+        BookingSummaryDto summary = new BookingSummaryDto(2L, 1L, 0L, 1L, 1L, null);
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(bookingRepository.getSummaryByBookerId(anyLong(), any())).thenReturn(summary);
+
+        BookingSummaryDto actualSummary = bookingService.getSummary(userId);
+
+        verify(bookingRepository, times(1)).getSummaryByBookerId(anyLong(), any());
+        assertEquals(2, actualSummary.getAll());
+        assertEquals(0, actualSummary.getRejected());
+    }
+
+    @Test
+    void getOwnerSummary_whenUserNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.getOwnerSummary(userNotFound));
+        verify(bookingRepository, times(0)).getSummaryByOwnerId(anyLong(), any());
+    }
+
     @Test
     void save_whenInvoked_thenSaveBooking() {
         when(bookingMapper.toBooking(any())).thenReturn(booking1);
-        when(bookingRepository.findFreeInterval(anyLong(), any(), any())).thenReturn(Collections.emptyList());
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
         when(bookingRepository.save(any())).thenReturn(booking1);
-        when(bookingMapper.toBookingDto(any())).thenReturn(toBookingDto(booking1));
+        when(bookingMapper.toBookingDto(any(Booking.class))).thenReturn(toBookingDto(booking1));
 
         BookingResponseDto savedBooking = bookingService.save(bookingRequestDto);
 
         verify(bookingMapper, times(1)).toBooking(any());
-        verify(bookingRepository, times(1)).findFreeInterval(anyLong(), any(), any());
+        verify(itemLocks, times(1)).lock(item1.getId());
+        verify(bookingIntervalIndex, times(1)).hasOverlap(anyLong(), any(), any());
         verify(bookingRepository, times(1)).save(any());
-        verify(bookingMapper, times(1)).toBookingDto(any());
+        verify(bookingMapper, times(1)).toBookingDto(any(Booking.class));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
         assertEquals(savedBooking.getId(), booking1.getId());
     }
 
+    @Test
+    void save_whenInvoked_thenItemOwnerCopied() {
+        booking1.setItemOwnerId(null);
+        when(bookingMapper.toBooking(any())).thenReturn(booking1);
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
+        when(bookingRepository.save(any())).thenReturn(booking1);
+
+        bookingService.save(bookingRequestDto);
+
+        assertEquals(user1.getId(), booking1.getItemOwnerId());
+    }
+
     @Test
     void save_whenIncorrectEndDate_thenBadBookingDateException() {
         bookingRequestDto.setEnd(booking1.getEnd().minusDays(1));
@@ -297,10 +477,8 @@ class BookingServiceImplTest {
 
     @Test
     void save_whenItemBooked_thenNotItemAvailableException() {
-        List<Booking> bookings = List.of(new Booking());
-
         when(bookingMapper.toBooking(any())).thenReturn(booking1);
-        when(bookingRepository.findFreeInterval(anyLong(), any(), any())).thenReturn(bookings);
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
 
         assertThrows(NotItemAvailableException.class, () -> bookingService.save(bookingRequestDto));
     }
@@ -314,6 +492,102 @@ class BookingServiceImplTest {
         assertThrows(NotItemOwnerException.class, () -> bookingService.save(bookingRequestDto));
     }
 
+    @Test
+    void saveAll_whenInvoked_thenSavedInOneBatchAndReturnedInRequestOrder() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> saved = new ArrayList<>();
+        when(userService.exists(user2.getId())).thenReturn(true);
+        when(itemRepository.findAllById(Set.of(item1.getId()))).thenReturn(List.of(item1));
+        when(userRepository.getReferenceById(user2.getId())).thenReturn(user2);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (Booking booking : bookings) {
+                booking.setId(10L + saved.size());
+                saved.add(booking);
+            }
+            return bookings;
+        });
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(user2.getId(),
+                List.of(bookingRequest(item1.getId(), start), bookingRequest(item1.getId(), start.plusDays(2))));
+
+        assertEquals(List.of(10L, 11L), List.of(results.get(0).getBookingId(), results.get(1).getBookingId()));
+        assertEquals(BookingStatus.WAITING, results.get(0).getStatus());
+        assertEquals(2, saved.size());
+        saved.forEach(booking -> assertEquals(user1.getId(), booking.getItemOwnerId()));
+        verify(itemRepository, times(1)).findAllById(anyIterable());
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        verify(bookingMapper, times(0)).toBooking(any());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void saveAll_whenEntriesOverlapInBatch_thenEarlierStartKept() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> saved = new ArrayList<>();
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(item1));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(user2.getId(),
+                List.of(bookingRequest(item1.getId(), start), bookingRequest(item1.getId(), start.minusHours(1))));
+
+        assertNotNull(results.get(0).getError());
+        assertNull(results.get(1).getError());
+        assertEquals(1, saved.size());
+        assertEquals(start.minusHours(1), saved.get(0).getStart());
+    }
+
+    @Test
+    void saveAll_whenEntriesInvalid_thenEntriesFailed() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Item item2 = new Item();
+        item2.setId(2L);
+        item2.setAvailable(false);
+        item2.setOwner(user1);
+        BookingRequestDto badDates = bookingRequest(item1.getId(), start.plusDays(5));
+        badDates.setEnd(badDates.getStart().minusHours(1));
+        BookingRequestDto incomplete = bookingRequest(item1.getId(), start);
+        incomplete.setStart(null);
+        List<BookingRequestDto> bookingDtos = List.of(bookingRequest(99L, start),
+                bookingRequest(item2.getId(), start), badDates, incomplete, bookingRequest(item1.getId(), start));
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(item1, item2));
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(user2.getId(), bookingDtos);
+
+        assertEquals(5, results.size());
+        results.forEach(result -> assertNotNull(result.getError()));
+        assertTrue(results.get(3).getError().startsWith("start"));
+        verify(eventPublisher, times(0)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void saveAll_whenBookerIsItemOwner_thenEntryFailed() {
+        when(userService.exists(anyLong())).thenReturn(true);
+        when(itemRepository.findAllById(anyIterable())).thenReturn(List.of(item1));
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(user1.getId(),
+                List.of(bookingRequest(item1.getId(), LocalDateTime.now().plusDays(1))));
+
+        assertNotNull(results.get(0).getError());
+        verify(bookingIntervalIndex, times(0)).hasOverlap(anyLong(), any(), any());
+    }
+
+    @Test
+    void saveAll_whenBookerNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> bookingService.saveAll(userNotFound, List.of(bookingRequestDto)));
+        verify(bookingRepository, times(0)).saveAll(anyList());
+    }
+
     @Test
     void changeStatus_whenInvoked_thenChangeStatus() {
         when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
@@ -322,11 +596,50 @@ class BookingServiceImplTest {
         bookingService.changeStatus(userId, bookingId, true);
 
         verify(bookingRepository, times(1)).getReferenceById(anyLong());
+        verify(itemLocks, times(1)).lock(Set.of(item1.getId()));
+        verify(itemRepository, times(1)).lockAllById(Set.of(item1.getId()));
+        verify(bookingRepository, times(1)).findApprovedIntervalsEndingAfter(Set.of(item1.getId()),
+                booking1.getStart());
         verify(bookingRepository, times(1)).save(any());
-        verify(bookingMapper, times(1)).toBookingDto(any());
+        verify(bookingMapper, times(1)).toBookingDto(any(Booking.class));
+        verify(bookingIntervalIndex, times(1)).add(item1.getId(), booking1.getStart(), booking1.getEnd());
         assertEquals(booking1.getStatus(), BookingStatus.APPROVED);
     }
 
+    @Test
+    void changeStatus_whenApprovedIntervalOverlaps_thenNotItemAvailableException() {
+        when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
+
+        assertThrows(NotItemAvailableException.class, () -> bookingService.changeStatus(userId, bookingId, true));
+        assertEquals(booking1.getStatus(), BookingStatus.WAITING);
+        verify(bookingRepository, times(0)).save(any());
+    }
+
+    @Test
+    void changeStatus_whenApprovedByOtherInstance_thenNotItemAvailableException() {
+        when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(false);
+        when(bookingRepository.findApprovedIntervalsEndingAfter(anyCollection(), any())).thenReturn(List.of(
+                new BookingIntervalDto(item1.getId(), booking1.getStart().minusHours(1), booking1.getStart())));
+
+        assertThrows(NotItemAvailableException.class, () -> bookingService.changeStatus(userId, bookingId, true));
+        assertEquals(booking1.getStatus(), BookingStatus.WAITING);
+        verify(bookingRepository, times(0)).save(any());
+    }
+
+    @Test
+    void changeStatus_whenRejected_thenIndexNotChanged() {
+        when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
+        when(bookingRepository.save(any())).thenReturn(booking1);
+
+        bookingService.changeStatus(userId, bookingId, false);
+
+        verify(itemLocks, times(0)).lock(anyLong());
+        verify(bookingIntervalIndex, times(0)).add(anyLong(), any(), any());
+        assertEquals(booking1.getStatus(), BookingStatus.REJECTED);
+    }
+
     @Test
     void changeStatus_whenUserNotItemOwner_thenNotItemOwnerException() {
         when(bookingRepository.getReferenceById(anyLong())).thenReturn(booking1);
@@ -343,6 +656,114 @@ class BookingServiceImplTest {
         assertThrows(BadApproveStatusException.class, () -> bookingService.changeStatus(userId, bookingId, true));
     }
 
+    @Test
+    void changeStatuses_whenInvoked_thenStatusesChangedInRequestOrder() {
+        Booking booking2 = booking(2L, booking1.getStart().plusDays(2));
+        when(bookingRepository.findAllByIdsAndOwnerId(Set.of(1L, 2L), userId)).thenReturn(List.of(booking2, booking1));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(userId,
+                List.of(new BookingStatusChangeDto(1L, true), new BookingStatusChangeDto(2L, false)));
+
+        assertEquals(List.of(1L, 2L), List.of(results.get(0).getBookingId(), results.get(1).getBookingId()));
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        assertNull(results.get(0).getError());
+        verify(bookingRepository, times(1)).findAllByIdsAndOwnerId(anyCollection(), anyLong());
+        verify(itemLocks, times(1)).lock(Set.of(item1.getId()));
+        verify(bookingIntervalIndex, times(1)).add(item1.getId(), booking1.getStart(), booking1.getEnd());
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void changeStatuses_whenApprovedByOtherInstance_thenEntryFailed() {
+        when(bookingRepository.findAllByIdsAndOwnerId(anyCollection(), anyLong())).thenReturn(List.of(booking1));
+        when(bookingRepository.findApprovedIntervalsEndingAfter(Set.of(item1.getId()), booking1.getStart()))
+                .thenReturn(List.of(new BookingIntervalDto(item1.getId(), booking1.getStart(), booking1.getEnd())));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(userId,
+                List.of(new BookingStatusChangeDto(1L, true)));
+
+        assertEquals("item is already booked for these dates.", results.get(0).getError());
+        assertEquals(BookingStatus.WAITING, booking1.getStatus());
+        verify(itemRepository, times(1)).lockAllById(Set.of(item1.getId()));
+    }
+
+    @Test
+    void changeStatuses_whenApprovalsOverlapInBatch_thenOnlyFirstApproved() {
+        Booking booking2 = booking(2L, booking1.getStart().plusHours(1));
+        when(bookingRepository.findAllByIdsAndOwnerId(anyCollection(), anyLong()))
+                .thenReturn(List.of(booking1, booking2));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(userId,
+                List.of(new BookingStatusChangeDto(1L, true), new BookingStatusChangeDto(2L, true)));
+
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertNull(results.get(1).getStatus());
+        assertNotNull(results.get(1).getError());
+        assertEquals(BookingStatus.WAITING, booking2.getStatus());
+    }
+
+    @Test
+    void changeStatuses_whenApprovedIntervalOverlaps_thenEntryFailed() {
+        when(bookingRepository.findAllByIdsAndOwnerId(anyCollection(), anyLong())).thenReturn(List.of(booking1));
+        when(bookingIntervalIndex.hasOverlap(anyLong(), any(), any())).thenReturn(true);
+
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(userId,
+                List.of(new BookingStatusChangeDto(1L, true)));
+
+        assertNotNull(results.get(0).getError());
+        assertEquals(BookingStatus.WAITING, booking1.getStatus());
+        verify(bookingIntervalIndex, times(0)).add(anyLong(), any(), any());
+        verify(eventPublisher, times(0)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void changeStatuses_whenNotOwnedOrConfirmedOrIncomplete_thenEntriesFailed() {
+        Booking booking2 = booking(2L, booking1.getStart().plusDays(2));
+        booking2.setStatus(BookingStatus.APPROVED);
+        when(bookingRepository.findAllByIdsAndOwnerId(anyCollection(), anyLong())).thenReturn(List.of(booking2));
+
+        List<BookingBatchResultDto> results = bookingService.changeStatuses(userId,
+                Arrays.asList(new BookingStatusChangeDto(1L, true), new BookingStatusChangeDto(2L, false),
+                        new BookingStatusChangeDto(null, true), null));
+
+        assertEquals(4, results.size());
+        results.forEach(result -> assertNotNull(result.getError()));
+        assertEquals("status change must not be null.", results.get(3).getError());
+        assertEquals(BookingStatus.APPROVED, booking2.getStatus());
+        verify(eventPublisher, times(0)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void changeStatuses_whenBatchTooLarge_thenBadBatchRequestException() {
+        List<BookingStatusChangeDto> changes = LongStream.rangeClosed(1, 101)
+                .mapToObj(id -> new BookingStatusChangeDto(id, true))
+                .collect(Collectors.toList());
+
+        assertThrows(BadBatchRequestException.class, () -> bookingService.changeStatuses(userId, changes));
+        verify(bookingRepository, times(0)).findAllByIdsAndOwnerId(anyCollection(), anyLong());
+    }
+
+    private BookingRequestDto bookingRequest(Long itemId, LocalDateTime start) {
+        BookingRequestDto bookingDto = new BookingRequestDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start);
+        bookingDto.setEnd(start.plusDays(1));
+        return bookingDto;
+    }
+
+    private Booking booking(Long id, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item1);
+        booking.setItemOwnerId(user1.getId());
+        booking.setBooker(user2);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
     private UserResponseDto toUserDto(User user) {
         UserResponseDto userResponseDto = new UserResponseDto();
         userResponseDto.setId(user.getId());
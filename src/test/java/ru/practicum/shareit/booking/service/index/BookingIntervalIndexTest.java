@@ -0,0 +1,136 @@
+package ru.practicum.shareit.booking.service.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private final Long item1 = 1L;
+    private final Long item2 = 2L;
+    private final LocalDateTime time = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+    }
+
+    @Test
+    void hasOverlap_whenIndexRebuilt_thenApprovedIntervalsFound() {
+        when(bookingRepository.findApprovedIntervalsEndingAfter(any(LocalDateTime.class))).thenReturn(new ArrayList<>(List.of(
+                new BookingIntervalDto(item1, time.plusDays(10), time.plusDays(12)),
+                new BookingIntervalDto(item1, time, time.plusDays(5)),
+                new BookingIntervalDto(item2, time, time.plusDays(1)))));
+
+        bookingIntervalIndex.rebuild();
+
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusDays(4), time.plusDays(6)));
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusDays(5), time.plusDays(6)));
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusDays(6), time.plusDays(10)));
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.minusDays(1), time.plusDays(20)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item1, time.plusDays(6), time.plusDays(9)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item1, time.minusDays(2), time.minusDays(1)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item2, time.plusDays(2), time.plusDays(3)));
+        assertFalse(bookingIntervalIndex.hasOverlap(3L, time, time.plusDays(1)));
+    }
+
+    @Test
+    void hasOverlap_whenLongIntervalCoversLaterOnes_thenOverlapFound() {
+        bookingIntervalIndex.add(item1, time, time.plusDays(30));
+        bookingIntervalIndex.add(item1, time.plusDays(1), time.plusDays(2));
+
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusDays(20), time.plusDays(21)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item1, time.plusDays(31), time.plusDays(32)));
+    }
+
+    @Test
+    void add_whenIntervalAdded_thenOverlapFound() {
+        assertFalse(bookingIntervalIndex.hasOverlap(item1, time, time.plusDays(1)));
+
+        bookingIntervalIndex.add(item1, time, time.plusDays(1));
+
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusHours(1), time.plusHours(2)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item2, time.plusHours(1), time.plusHours(2)));
+    }
+
+    @Test
+    void checkConsistency_whenIndexDiffersFromTable_thenItemsReloaded() {
+        bookingIntervalIndex.add(item1, time, time.plusDays(1));
+        bookingIntervalIndex.add(item2, time, time.plusDays(1));
+        when(bookingRepository.findApprovedIntervalsEndingAfter(any(LocalDateTime.class))).thenReturn(new ArrayList<>(List.of(
+                new BookingIntervalDto(item1, time, time.plusDays(1)),
+                new BookingIntervalDto(3L, time, time.plusDays(1)))));
+
+        Set<Long> inconsistent = bookingIntervalIndex.checkConsistency();
+
+        assertEquals(Set.of(item2, 3L), inconsistent);
+        assertFalse(bookingIntervalIndex.hasOverlap(item2, time, time.plusDays(1)));
+        assertTrue(bookingIntervalIndex.hasOverlap(3L, time, time.plusDays(1)));
+        assertTrue(bookingIntervalIndex.checkConsistency().isEmpty());
+    }
+
+    @Test
+    void checkConsistency_whenIntervalEnded_thenIntervalDroppedWithoutReload() {
+        LocalDateTime now = LocalDateTime.now();
+        bookingIntervalIndex.add(item1, now.minusDays(3), now.minusDays(2));
+        bookingIntervalIndex.add(item1, now.plusDays(1), now.plusDays(2));
+        bookingIntervalIndex.add(item2, now.minusDays(3), now.minusDays(2));
+        when(bookingRepository.findApprovedIntervalsEndingAfter(any(LocalDateTime.class))).thenReturn(
+                new ArrayList<>(List.of(new BookingIntervalDto(item1, now.plusDays(1), now.plusDays(2)))));
+
+        Set<Long> inconsistent = bookingIntervalIndex.checkConsistency();
+
+        assertTrue(inconsistent.isEmpty());
+        assertFalse(bookingIntervalIndex.hasOverlap(item1, now.minusDays(3), now.minusDays(2)));
+        assertFalse(bookingIntervalIndex.hasOverlap(item2, now.minusDays(3), now.minusDays(2)));
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, now.plusDays(1), now.plusDays(2)));
+        verify(bookingRepository).findApprovedIntervalsEndingAfter(argThat(time -> !time.isBefore(now)));
+    }
+
+    @Test
+    void checkConsistency_whenApprovalCommitsWhileTableRead_thenNewIntervalKept() {
+        bookingIntervalIndex.add(item1, time, time.plusDays(1));
+        when(bookingRepository.findApprovedIntervalsEndingAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            bookingIntervalIndex.add(item1, time.plusDays(5), time.plusDays(6));
+            return new ArrayList<>(List.of(new BookingIntervalDto(item1, time, time.plusDays(1))));
+        });
+
+        Set<Long> inconsistent = bookingIntervalIndex.checkConsistency();
+
+        assertTrue(inconsistent.isEmpty());
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time.plusDays(5), time.plusDays(6)));
+    }
+
+    @Test
+    void rebuild_whenApprovalCommitsWhileTableRead_thenNewIntervalKept() {
+        when(bookingRepository.findApprovedIntervalsEndingAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+            bookingIntervalIndex.add(item2, time, time.plusDays(1));
+            return new ArrayList<>(List.of(new BookingIntervalDto(item1, time, time.plusDays(1))));
+        });
+
+        bookingIntervalIndex.rebuild();
+
+        assertTrue(bookingIntervalIndex.hasOverlap(item1, time, time.plusDays(1)));
+        assertTrue(bookingIntervalIndex.hasOverlap(item2, time, time.plusDays(1)));
+    }
+}
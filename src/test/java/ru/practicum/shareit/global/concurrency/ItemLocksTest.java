@@ -0,0 +1,77 @@
+package ru.practicum.shareit.global.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemLocksTest {
+    private final ItemLocks itemLocks = new ItemLocks(16, 50);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lock_whenNoTransaction_thenIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> itemLocks.lock(1L));
+    }
+
+    @Test
+    void lock_whenItemLockedByOtherTransaction_thenCannotAcquireLockException() {
+        TransactionSynchronizationManager.initSynchronization();
+        itemLocks.lock(1L);
+
+        assertFalse(lockInOtherThread(1L));
+        assertTrue(lockInOtherThread(2L));
+
+        completeTransaction();
+
+        assertTrue(lockInOtherThread(1L));
+    }
+
+    @Test
+    void lock_whenSeveralItems_thenAllReleasedAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        itemLocks.lock(List.of(5L, 3L, 21L));
+
+        assertFalse(lockInOtherThread(3L));
+        assertFalse(lockInOtherThread(21L));
+
+        completeTransaction();
+
+        assertTrue(lockInOtherThread(3L));
+        assertTrue(lockInOtherThread(21L));
+    }
+
+    private void completeTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private boolean lockInOtherThread(Long itemId) {
+        return CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                itemLocks.lock(itemId);
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                return true;
+            } catch (CannotAcquireLockException e) {
+                return false;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }).join();
+    }
+}
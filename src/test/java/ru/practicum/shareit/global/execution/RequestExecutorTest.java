@@ -0,0 +1,102 @@
+package ru.practicum.shareit.global.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.global.metrics.SqlStatementCounter;
+import ru.practicum.shareit.global.metrics.SqlStatementMetricsInterceptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestExecutorTest {
+    private RequestExecutor requestExecutor;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        requestExecutor.destroy();
+    }
+
+    @Test
+    void supply_whenPlatformMode_thenRunOnCallingThread() {
+        requestExecutor = new RequestExecutor("platform", 2, 10);
+
+        CompletableFuture<String> result = requestExecutor.supply(() -> Thread.currentThread().getName());
+
+        assertEquals(ExecutionMode.PLATFORM, requestExecutor.getMode());
+        assertTrue(result.isDone());
+        assertEquals(Thread.currentThread().getName(), result.join());
+    }
+
+    @Test
+    void supply_whenAsyncMode_thenRunOnJdbcThreadAndStatementsPassedToRequest() {
+        requestExecutor = new RequestExecutor("ASYNC", 2, 10);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        SqlStatementCounter counter = new SqlStatementCounter();
+
+        String threadName = requestExecutor.supply(() -> {
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+            return Thread.currentThread().getName();
+        }).join();
+
+        assertTrue(threadName.startsWith("jdbc-"));
+        assertEquals(2L, request.getAttribute(SqlStatementMetricsInterceptor.OFFLOADED_STATEMENTS_ATTRIBUTE));
+    }
+
+    @Test
+    void supply_whenQueueFull_thenRejectedExecutionException() throws InterruptedException {
+        requestExecutor = new RequestExecutor("async", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> running = requestExecutor.supply(() -> {
+            started.countDown();
+            return await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = requestExecutor.supply(() -> true);
+
+        assertThrows(RejectedExecutionException.class, () -> requestExecutor.supply(() -> true));
+        release.countDown();
+        assertTrue(running.join());
+        assertTrue(queued.join());
+    }
+
+    @Test
+    void constructor_whenVirtualMode_thenVirtualThreadsOrAsyncFallback() {
+        requestExecutor = new RequestExecutor("virtual", 2, 10);
+
+        if (Runtime.version().feature() >= 21) {
+            assertEquals(ExecutionMode.VIRTUAL, requestExecutor.getMode());
+            assertNotNull(requestExecutor.getVirtualThreadExecutor());
+        } else {
+            assertEquals(ExecutionMode.ASYNC, requestExecutor.getMode());
+            assertNull(requestExecutor.getVirtualThreadExecutor());
+        }
+    }
+
+    @Test
+    void constructor_whenModeUnknown_thenIllegalArgumentException() {
+        requestExecutor = new RequestExecutor("platform", 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new RequestExecutor("reactive", 1, 1));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.global.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.global.exception.QueryBudgetExceededException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryBudgetAspectTest {
+    @Test
+    void check_whenWithinBudget_thenReturnedResult() {
+        Queries queries = proxy(true);
+
+        assertEquals(2, queries.run(2));
+    }
+
+    @Test
+    void check_whenBudgetExceededAndFailOnExceed_thenThrownException() {
+        Queries queries = proxy(true);
+
+        assertThrows(QueryBudgetExceededException.class, () -> queries.run(3));
+    }
+
+    @Test
+    void check_whenBudgetExceeded_thenReturnedResult() {
+        Queries queries = proxy(false);
+
+        assertEquals(3, queries.run(3));
+    }
+
+    private Queries proxy(boolean failOnExceed) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Queries());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new QueryBudgetAspect(failOnExceed));
+        return factory.getProxy();
+    }
+
+    static class Queries {
+        private final SqlStatementCounter counter = new SqlStatementCounter();
+
+        @QueryBudget(2)
+        public int run(int statements) {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select " + i);
+            }
+            return statements;
+        }
+    }
+}
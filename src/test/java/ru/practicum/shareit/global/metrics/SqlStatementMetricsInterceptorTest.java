@@ -0,0 +1,67 @@
+package ru.practicum.shareit.global.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SqlStatementMetricsInterceptorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementMetricsInterceptor interceptor;
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new SqlStatementMetricsInterceptor(meterRegistry);
+    }
+
+    @Test
+    void afterCompletion_whenStatementsRun_thenRecordedForHandler() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(this, "handle");
+        counter.inspect("select 1");
+
+        interceptor.preHandle(request, response, handler);
+        counter.inspect("select 2");
+        counter.inspect("select 3");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsInterceptor.METRIC_NAME)
+                .tag("handler", "SqlStatementMetricsInterceptorTest.handle")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    void afterCompletion_whenStatementsOffloaded_thenAddedToRequest() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(this, "handle");
+
+        interceptor.preHandle(request, response, handler);
+        counter.inspect("select 1");
+        request.setAttribute(SqlStatementMetricsInterceptor.OFFLOADED_STATEMENTS_ATTRIBUTE, 3L);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary summary = meterRegistry.find(SqlStatementMetricsInterceptor.METRIC_NAME).summary();
+        assertEquals(4.0, summary.totalAmount());
+    }
+
+    @Test
+    void afterCompletion_whenHandlerIsNotMethod_thenNotRecorded() {
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertNull(meterRegistry.find(SqlStatementMetricsInterceptor.METRIC_NAME).summary());
+    }
+
+    public void handle() {
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.global.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement inspector for tests that also keeps the SQL Hibernate prepares on the current thread, so that
+ * the statements the repositories actually issue can be examined. Registered by class name through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementRecorder extends SqlStatementCounter {
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * @return statements recorded since the previous call
+     */
+    public static List<String> drain() {
+        List<String> statements = new ArrayList<>(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return super.inspect(sql);
+    }
+}
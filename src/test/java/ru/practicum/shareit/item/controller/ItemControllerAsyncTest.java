@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.global.exception.BadPageRequestException;
+import ru.practicum.shareit.global.execution.ExecutionConfiguration;
+import ru.practicum.shareit.global.execution.RequestExecutor;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit.execution.mode=async")
+@Import({RequestExecutor.class, ExecutionConfiguration.class})
+class ItemControllerAsyncTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemService itemService;
+
+    @Test
+    @SneakyThrows
+    void findItemByText_whenAsyncMode_thenReturnedItems() {
+        ItemResponseDto itemResponseDto = new ItemResponseDto();
+        itemResponseDto.setId(1L);
+        itemResponseDto.setName("drill");
+        when(itemService.getByText("DrILL", 1, 10)).thenReturn(List.of(itemResponseDto));
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "DrILL")
+                        .param("from", String.valueOf(1))
+                        .param("size", String.valueOf(10)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("drill"));
+
+        verify(itemService, times(1)).getByText("DrILL", 1, 10);
+    }
+
+    @Test
+    @SneakyThrows
+    void findItemByText_whenAsyncModeAndPageInvalid_thenBadRequest() {
+        when(itemService.getByText("drill", -1, 10))
+                .thenThrow(new BadPageRequestException("from can't be negative."));
+
+        MvcResult result = mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "drill")
+                        .param("from", String.valueOf(-1))
+                        .param("size", String.valueOf(10)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("from can't be negative."));
+    }
+}
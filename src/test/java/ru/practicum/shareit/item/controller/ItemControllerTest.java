@@ -6,12 +6,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import ru.practicum.shareit.global.execution.ExecutionConfiguration;
+import ru.practicum.shareit.global.execution.RequestExecutor;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,9 +25,11 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@Import({RequestExecutor.class, ExecutionConfiguration.class})
 class ItemControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
@@ -71,7 +77,8 @@ class ItemControllerTest {
                         .param("text", "DrILL")
                         .param("from", String.valueOf(1))
                         .param("size", String.valueOf(10)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(request().asyncNotStarted());
 
         verify(itemService, times(1)).getByText(anyString(), anyInt(), anyInt());
     }
@@ -179,4 +186,36 @@ class ItemControllerTest {
 
         verify(itemService, times(1)).change(anyLong(), anyLong(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void importItems_whenNdjsonBody_thenReturnedReport() {
+        ItemImportResultDto result = new ItemImportResultDto(2L, 1L, 1L, 5L, 400.0,
+                List.of(new ItemImportErrorDto(2L, "name: can't be null or blank.")));
+        when(itemService.importItems(anyLong(), any(InputStream.class))).thenReturn(result);
+
+        String response = mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}\n{}\n"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(result), response);
+        verify(itemService, times(1)).importItems(eq(1L), any(InputStream.class));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItems_whenJsonBody_thenUnsupportedMediaType() {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemService, never()).importItems(anyLong(), any(InputStream.class));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemSearchCacheStatsDto;
+import ru.practicum.shareit.item.dto.ItemSearchIndexDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemSearchAdminController.class)
+class ItemSearchAdminControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemService itemService;
+
+    @Test
+    @SneakyThrows
+    void rebuildSearchIndex_whenInvoked_thenReturnedIndexedItems() {
+        when(itemService.rebuildSearchIndex()).thenReturn(new ItemSearchIndexDto(3));
+
+        this.mockMvc.perform(post("/admin/items/search-index/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.indexedItems").value(3));
+
+        verify(itemService, times(1)).rebuildSearchIndex();
+    }
+
+    @Test
+    @SneakyThrows
+    void getSearchCacheStats_whenInvoked_thenReturnedStats() {
+        when(itemService.getSearchCacheStats()).thenReturn(new ItemSearchCacheStatsDto(5L, 2L, 1L, 1L, 1));
+
+        this.mockMvc.perform(get("/admin/items/search-cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(5))
+                .andExpect(jsonPath("$.misses").value(2))
+                .andExpect(jsonPath("$.size").value(1));
+
+        verify(itemService, times(1)).getSearchCacheStats();
+    }
+}
@@ -3,7 +3,7 @@ package ru.practicum.shareit.item.db.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import ru.practicum.shareit.item.db.model.Comment;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 
 import java.util.List;
 
@@ -17,22 +17,13 @@ class CommentRepositoryTest {
     private final Long itemId = 1L;
     private final Long itemNotFound = 4L;
 
-    @Test
-    void findCommentsByItemId_whenItemIdFound_thenReturnedItems() {
-        List<Comment> comments = commentRepository.findCommentsByItemId(itemId);
-        assertEquals(1, comments.size());
-        assertEquals(itemId, comments.get(0).getItem().getId());
-
-        comments = commentRepository.findCommentsByItemId(itemNotFound);
-        assertEquals(0, comments.size());
-    }
-
     @Test
     void findCommentsByItemIds__whenItemIdsFound_thenReturnedItems() {
         List<Long> itemIds = List.of(itemId, itemNotFound);
 
-        List<Comment> comments = commentRepository.findCommentsByItemIds(itemIds);
+        List<ItemCommentDto> comments = commentRepository.findCommentsByItemIds(itemIds);
         assertEquals(1, comments.size());
-        assertEquals(itemId, comments.get(0).getItem().getId());
+        assertEquals(itemId, comments.get(0).getItemId());
+        assertNotNull(comments.get(0).getAuthorName());
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.db.repository;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -8,6 +9,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.dto.ItemForRequestResponseDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+import ru.practicum.shareit.item.dto.ItemViewDto;
 
 import java.util.List;
 import java.util.Set;
@@ -26,9 +30,9 @@ class ItemRepositoryTest {
     void getItemsByOwnerId_whenOwnerIdFound_thenReturnedItems() {
         Long user1 = 1L;
 
-        List<Item> items = itemRepository.getItemsByOwnerId(user1, pageable);
+        List<ItemViewDto> items = itemRepository.getItemsByOwnerId(user1, pageable);
         assertEquals(1, items.size());
-        assertEquals(user1, items.get(0).getOwner().getId());
+        assertEquals(user1, items.get(0).getOwnerId());
 
         Long userNotFound = 4L;
         items = itemRepository.getItemsByOwnerId(userNotFound, pageable);
@@ -47,13 +51,27 @@ class ItemRepositoryTest {
         assertEquals(0, items.getContent().size());
     }
 
+    @Test
+    void findAvailableByPattern_whenPatternFound_thenReturnedAvailableItems() {
+        List<Item> items = itemRepository.findAvailableByPattern("%drill%", PageRequest.of(0, 10));
+        assertEquals(1, items.size());
+        assertEquals("drill", items.get(0).getName());
+        assertTrue(Hibernate.isInitialized(items.get(0).getOwner()));
+
+        items = itemRepository.findAvailableByPattern("%vacuum%", PageRequest.of(0, 10));
+        assertEquals(0, items.size());
+
+        items = itemRepository.findAvailableByPattern("%simple%", PageRequest.of(1, 10));
+        assertEquals(0, items.size());
+    }
+
     @Test
     void findItemsByRequestId_whenRequestFound_thenReturnedItems() {
         Set<Long> requestIds = Set.of(requestId, 2L);
 
-        List<Item> items = itemRepository.findItemsByRequestId(requestIds);
+        List<ItemForRequestResponseDto> items = itemRepository.findItemsByRequestId(requestIds);
         assertEquals(1, items.size());
-        assertEquals(requestId, items.get(0).getRequest().getId());
+        assertEquals(requestId, items.get(0).getRequestId());
     }
 
     @Test
@@ -62,4 +80,19 @@ class ItemRepositoryTest {
         assertEquals(1, items.size());
         assertEquals(requestId, items.get(0).getRequest().getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllTexts_whenInvoked_thenReturnedAllItems() {
+        List<ItemTextDto> items = itemRepository.findAllTexts();
+        assertEquals(3, items.size());
+        assertTrue(items.stream().anyMatch(item -> "drill".equals(item.getName()) && item.getAvailable()));
+        assertTrue(items.stream().anyMatch(item -> "vacuum cleaner".equals(item.getName()) && !item.getAvailable()));
+    }
+
+    @Test
+    void lockAllById_whenItemsFound_thenReturnedIdsInOrder() {
+        List<Long> itemIds = itemRepository.lockAllById(List.of(3L, 1L, 99L));
+
+        assertEquals(List.of(1L, 3L), itemIds);
+    }
+}
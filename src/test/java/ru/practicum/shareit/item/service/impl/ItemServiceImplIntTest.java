@@ -7,11 +7,13 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "shareit.query-budget.fail-on-exceed=true")
 @Transactional
 class ItemServiceImplIntTest {
     @Autowired
@@ -53,7 +55,7 @@ class ItemServiceImplIntTest {
         ItemResponseDto itemResponseDto = itemService.save(itemRequestDto);
 
         assertNotNull(itemResponseDto);
-        assertEquals(itemResponseDto.getId(), 4L);
+        assertTrue(itemResponseDto.getId() > 3L);
         assertEquals(itemResponseDto.getName(), "new");
         assertEquals(itemResponseDto.getDescription(), "new description");
     }
@@ -83,4 +85,24 @@ class ItemServiceImplIntTest {
         assertNotNull(commentResponseDto);
         assertEquals(commentResponseDto.getText(), "best");
     }
-}
\ No newline at end of file
+
+    @Test
+    void importItems() {
+        String body = "{\"name\":\"ladder\",\"description\":\"folding\",\"available\":true}\n" +
+                "{\"name\":\"tent\",\"description\":\"for two\",\"available\":true,\"requestId\":2}\n" +
+                "{\"name\":\"kayak\",\"description\":\"inflatable\",\"available\":true,\"requestId\":99}\n" +
+                "{\"name\":\"\",\"description\":\"no name\",\"available\":true}\n";
+
+        ItemImportResultDto result = itemService.importItems(4L,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4L, result.getRows());
+        assertEquals(2L, result.getImported());
+        assertEquals(2L, result.getFailed());
+        assertEquals(3L, result.getErrors().get(0).getLine());
+        assertEquals(4L, result.getErrors().get(1).getLine());
+        List<ItemResponseDto> items = itemService.getItems(4L, 0, 10);
+        assertEquals(2, items.size());
+        assertEquals("ladder", items.get(0).getName());
+    }
+}
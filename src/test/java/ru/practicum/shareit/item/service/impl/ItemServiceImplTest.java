@@ -6,12 +6,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import ru.practicum.shareit.booking.db.model.Booking;
 import ru.practicum.shareit.booking.db.model.enums.BookingStatus;
 import ru.practicum.shareit.booking.db.repository.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingBookerDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.global.concurrency.ItemLocks;
 import ru.practicum.shareit.global.exception.NotFoundException;
 import ru.practicum.shareit.global.exception.NotItemBookedException;
 import ru.practicum.shareit.global.exception.NotItemOwnerException;
@@ -22,10 +20,16 @@ import ru.practicum.shareit.item.db.repository.ItemRepository;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.service.importer.ItemImporter;
+import ru.practicum.shareit.item.service.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.summary.ItemBookingSummary;
 import ru.practicum.shareit.user.db.model.User;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -46,9 +50,15 @@ class ItemServiceImplTest {
     @Mock
     private ItemMapper itemMapper;
     @Mock
-    private BookingMapper bookingMapper;
-    @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemLocks itemLocks;
+    @Mock
+    private ItemBookingSummary itemBookingSummary;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemImporter itemImporter;
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -68,7 +78,8 @@ class ItemServiceImplTest {
     @BeforeEach
     void setUp() {
         itemService = new ItemServiceImpl(itemRepository, commentRepository, bookingRepository, itemMapper,
-                bookingMapper, commentMapper);
+                commentMapper, itemLocks, itemBookingSummary, itemSearchEngine, new ItemSearchCache(100, 60000),
+                itemImporter);
 
         user1.setId(1L);
         user1.setName("user");
@@ -113,60 +124,54 @@ class ItemServiceImplTest {
 
     @Test
     void getItems_whenUserFound_thenReturnedItems() {
-        when(itemRepository.getItemsByOwnerId(anyLong(), any())).thenReturn(List.of(item1));
-        when(itemMapper.toItemDto(any())).thenReturn(toItemDto(item1));
-        when(bookingRepository.findLastAndNextByIdList(anyList(), any())).thenReturn(List.of(booking1));
-        when(bookingMapper.toBookingBookerDto(any())).thenReturn(toBookingBookerDto(booking1));
-        when(commentRepository.findCommentsByItemIds(anyList())).thenReturn(List.of(comment1));
-        when(commentMapper.toCommentDto(any())).thenReturn(toCommentDto(comment1));
+        when(itemRepository.getItemsByOwnerId(anyLong(), any())).thenReturn(List.of(toItemViewDto(item1)));
+        when(itemMapper.toItemDto(any(ItemViewDto.class))).thenReturn(toItemDto(item1));
+        when(commentRepository.findCommentsByItemIds(anyList())).thenReturn(List.of(toItemCommentDto(comment1)));
+        when(commentMapper.toCommentDto(any(ItemCommentDto.class))).thenReturn(toCommentDto(comment1));
 
         List<ItemResponseDto> actualItems = itemService.getItems(userId, 0, 10);
 
         verify(itemRepository, times(1)).getItemsByOwnerId(anyLong(), any());
-        verify(itemMapper, times(1)).toItemDto(any());
-        verify(bookingRepository, times(1)).findLastAndNextByIdList(anyList(), any());
-        verify(bookingMapper, times(1)).toBookingBookerDto(any());
+        verify(itemMapper, times(1)).toItemDto(any(ItemViewDto.class));
+        verify(itemBookingSummary, times(1)).fill(anyList());
         verify(commentRepository, times(1)).findCommentsByItemIds(anyList());
-        verify(commentMapper, times(1)).toCommentDto(any());
+        verify(commentMapper, times(1)).toCommentDto(any(ItemCommentDto.class));
         assertEquals(1, actualItems.size());
         assertEquals(actualItems.get(0).getId(), item1.getId());
+        assertEquals(1, actualItems.get(0).getComments().size());
     }
 
     @Test
     void getById_whenUserFound_thenReturnedItem() {
         when(itemRepository.getReferenceById(anyLong())).thenReturn(item1);
-        when(itemMapper.toItemDto(any())).thenReturn(toItemDto(item1));
-        when(bookingRepository.findLastAndNextById(anyLong(), any())).thenReturn(List.of(booking1));
-        when(bookingMapper.toBookingBookerDto(any())).thenReturn(toBookingBookerDto(booking1));
-        when(commentRepository.findCommentsByItemId(any())).thenReturn(List.of(comment1));
-        when(commentMapper.toCommentDto(any())).thenReturn(toCommentDto(comment1));
+        when(itemMapper.toItemDto(any(Item.class))).thenReturn(toItemDto(item1));
+        when(commentRepository.findCommentsByItemIds(anyList())).thenReturn(List.of(toItemCommentDto(comment1)));
+        when(commentMapper.toCommentDto(any(ItemCommentDto.class))).thenReturn(toCommentDto(comment1));
 
         ItemResponseDto actualItem = itemService.getById(itemId, userId);
 
         verify(itemRepository, times(1)).getReferenceById(anyLong());
-        verify(itemMapper, times(1)).toItemDto(any());
-        verify(bookingRepository, times(1)).findLastAndNextById(anyLong(), any());
-        verify(bookingMapper, times(1)).toBookingBookerDto(any());
-        verify(commentRepository, times(1)).findCommentsByItemId(anyLong());
-        verify(commentMapper, times(1)).toCommentDto(any());
+        verify(itemMapper, times(1)).toItemDto(any(Item.class));
+        verify(itemBookingSummary, times(1)).fill(anyList());
+        verify(commentRepository, times(1)).findCommentsByItemIds(anyList());
+        verify(commentMapper, times(1)).toCommentDto(any(ItemCommentDto.class));
         assertEquals(actualItem.getId(), item1.getId());
     }
 
     @Test
     void getById_whenUserNotOwner_thenReturnedItemWithoutLastAndNextBookings() {
         when(itemRepository.getReferenceById(anyLong())).thenReturn(item1);
-        when(itemMapper.toItemDto(any())).thenReturn(toItemDto(item1));
-        when(commentRepository.findCommentsByItemId(any())).thenReturn(List.of(comment1));
-        when(commentMapper.toCommentDto(any())).thenReturn(toCommentDto(comment1));
+        when(itemMapper.toItemDto(any(Item.class))).thenReturn(toItemDto(item1));
+        when(commentRepository.findCommentsByItemIds(anyList())).thenReturn(List.of(toItemCommentDto(comment1)));
+        when(commentMapper.toCommentDto(any(ItemCommentDto.class))).thenReturn(toCommentDto(comment1));
 
         ItemResponseDto actualItem = itemService.getById(itemId, notOwnerId);
 
         verify(itemRepository, times(1)).getReferenceById(anyLong());
-        verify(itemMapper, times(1)).toItemDto(any());
-        verify(bookingRepository, times(0)).findLastAndNextById(anyLong(), any());
-        verify(bookingMapper, times(0)).toBookingBookerDto(any());
-        verify(commentRepository, times(1)).findCommentsByItemId(anyLong());
-        verify(commentMapper, times(1)).toCommentDto(any());
+        verify(itemMapper, times(1)).toItemDto(any(Item.class));
+        verify(itemBookingSummary, times(0)).fill(anyList());
+        verify(commentRepository, times(1)).findCommentsByItemIds(anyList());
+        verify(commentMapper, times(1)).toCommentDto(any(ItemCommentDto.class));
         assertEquals(actualItem.getId(), item1.getId());
     }
 
@@ -179,14 +184,13 @@ class ItemServiceImplTest {
 
     @Test
     void getByText_whenTextNotEmpty_thenReturnedItems() {
-        when(itemRepository.getByText(any(), any())).thenReturn(Page.empty());
-        when(bookingRepository.findLastAndNextByIdList(anyList(), any())).thenReturn(Collections.emptyList());
+        when(itemSearchEngine.search(any(), any())).thenReturn(Collections.emptyList());
         when(commentRepository.findCommentsByItemIds(anyList())).thenReturn(Collections.emptyList());
 
         itemService.getByText("text", 0, 10);
 
-        verify(itemRepository, times(1)).getByText(any(), any());
-        verify(bookingRepository, times(1)).findLastAndNextByIdList(anyList(), any());
+        verify(itemSearchEngine, times(1)).search(any(), any());
+        verify(itemBookingSummary, times(1)).fill(anyList());
         verify(commentRepository, times(1)).findCommentsByItemIds(anyList());
     }
 
@@ -194,20 +198,21 @@ class ItemServiceImplTest {
     void getByText_whenTextEmpty_thenReturnedEmptyList() {
         itemService.getByText("", 0, 10);
 
-        verify(itemRepository, times(0)).getByText(any(), any());
+        verify(itemSearchEngine, times(0)).search(any(), any());
     }
 
     @Test
     void save_whenInvoked_thenSaveItem() {
         when(itemMapper.toItem(any())).thenReturn(item1);
         when(itemRepository.save(any())).thenReturn(item1);
-        when(itemMapper.toItemDto(any())).thenReturn(toItemDto(item1));
+        when(itemMapper.toItemDto(any(Item.class))).thenReturn(toItemDto(item1));
 
         ItemResponseDto savedItem = itemService.save(itemRequestDto);
 
         verify(itemMapper, times(1)).toItem(any());
         verify(itemRepository, times(1)).save(any());
-        verify(itemMapper, times(1)).toItemDto(any());
+        verify(itemSearchEngine, times(1)).index(any());
+        verify(itemMapper, times(1)).toItemDto(any(Item.class));
         assertEquals(savedItem.getId(), item1.getId());
     }
 
@@ -227,13 +232,15 @@ class ItemServiceImplTest {
 
         when(itemRepository.getReferenceById(anyLong())).thenReturn(item1);
         when(itemRepository.save(any())).thenReturn(item1);
-        when(itemMapper.toItemDto(any())).thenReturn(toItemDto(itemChanged));
+        when(itemMapper.toItemDto(any(Item.class))).thenReturn(toItemDto(itemChanged));
 
         ItemResponseDto changedItem = itemService.change(userId, itemId, patchDto);
 
         verify(itemRepository,times(1)).getReferenceById(anyLong());
+        verify(itemLocks, times(1)).lock(itemId);
         verify(itemRepository,times(1)).save(any());
-        verify(itemMapper,times(1)).toItemDto(any());
+        verify(itemSearchEngine, times(1)).index(any());
+        verify(itemMapper,times(1)).toItemDto(any(Item.class));
         assertEquals(changedItem.getName(), "changed");
     }
 
@@ -257,7 +264,7 @@ class ItemServiceImplTest {
         when(bookingRepository.findByItemIdAndBookerIdAndStatusApproved(anyLong(), anyLong(), any()))
                 .thenReturn(booking1);
         when(commentRepository.save(any())).thenReturn(comment1);
-        when(commentMapper.toCommentDto(any())).thenReturn(toCommentDto(comment1));
+        when(commentMapper.toCommentDto(any(Comment.class))).thenReturn(toCommentDto(comment1));
 
         CommentResponseDto savedComment = itemService.saveComment(commentRequestDto);
 
@@ -265,7 +272,7 @@ class ItemServiceImplTest {
         verify(bookingRepository,times(1))
                 .findByItemIdAndBookerIdAndStatusApproved(anyLong(), anyLong(), any());
         verify(commentRepository, times(1)).save(any());
-        verify(commentMapper, times(1)).toCommentDto(any());
+        verify(commentMapper, times(1)).toCommentDto(any(Comment.class));
         assertEquals(savedComment.getId(), comment1.getId());
     }
 
@@ -296,6 +303,25 @@ class ItemServiceImplTest {
         assertThrows(NotItemBookedException.class, () -> itemService.saveComment(commentRequestDto));
     }
 
+    @Test
+    void rebuildSearchIndex_whenInvoked_thenReturnedIndexedItems() {
+        when(itemSearchEngine.rebuild()).thenReturn(3);
+
+        ItemSearchIndexDto searchIndex = itemService.rebuildSearchIndex();
+
+        verify(itemSearchEngine, times(1)).rebuild();
+        assertEquals(3, searchIndex.getIndexedItems());
+    }
+
+    @Test
+    void importItems_whenInvoked_thenDelegatedToImporter() {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        ItemImportResultDto result = new ItemImportResultDto(0L, 0L, 0L, 1L, 0.0, List.of());
+        when(itemImporter.importItems(userId, body)).thenReturn(result);
+
+        assertSame(result, itemService.importItems(userId, body));
+    }
+
     private UserResponseDto toUserDto(User user) {
         UserResponseDto userResponseDto = new UserResponseDto();
         userResponseDto.setId(user.getId());
@@ -317,15 +343,9 @@ class ItemServiceImplTest {
         return itemResponseDto;
     }
 
-    private BookingBookerDto toBookingBookerDto(Booking booking) {
-        if (booking == null) {
-            return null;
-        }
-        BookingBookerDto bookingBookerDto = new BookingBookerDto();
-        bookingBookerDto.setId(booking.getId());
-        bookingBookerDto.setStart(booking.getStart());
-        bookingBookerDto.setEnd(booking.getEnd());
-        return bookingBookerDto;
+    private ItemViewDto toItemViewDto(Item item) {
+        return new ItemViewDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), null,
+                item.getOwner().getId(), item.getOwner().getName(), item.getOwner().getEmail());
     }
 
     private CommentResponseDto toCommentDto(Comment comment) {
@@ -339,4 +359,9 @@ class ItemServiceImplTest {
         commentResponseDto.setCreated(comment.getCreated());
         return commentResponseDto;
     }
-}
\ No newline at end of file
+
+    private ItemCommentDto toItemCommentDto(Comment comment) {
+        return new ItemCommentDto(comment.getItem().getId(), comment.getId(), comment.getText(),
+                comment.getAuthor().getName(), comment.getCreated());
+    }
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.item.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ru.practicum.shareit.global.exception.NotFoundException;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+import ru.practicum.shareit.item.service.search.ItemSearchCache;
+import ru.practicum.shareit.item.service.search.ItemSearchEngine;
+import ru.practicum.shareit.request.db.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.db.model.User;
+import ru.practicum.shareit.user.db.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImporterTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemSearchCache itemSearchCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Long userId = 1L;
+    private final AtomicLong nextId = new AtomicLong(10);
+
+    @Test
+    void importItems_whenRowsValid_thenInsertedInChunks() {
+        ItemImporter itemImporter = importer(2, 10);
+        stubInsert();
+
+        ItemImportResultDto result = itemImporter.importItems(userId, body(
+                "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}",
+                "{\"name\":\"saw\",\"description\":\"circular\",\"available\":false}",
+                "{\"name\":\"tent\",\"description\":\"for two\",\"available\":true}"));
+
+        assertEquals(3L, result.getRows());
+        assertEquals(3L, result.getImported());
+        assertEquals(0L, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+        verify(itemRepository, times(2)).saveAll(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+        verify(itemSearchEngine, times(3)).index(any(ItemTextDto.class));
+        verify(itemSearchCache, times(3)).invalidate(isNull(), any(ItemTextDto.class));
+        verify(itemRequestRepository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void importItems_whenRowsInvalid_thenReportedByLine() {
+        ItemImporter itemImporter = importer(10, 10);
+        stubInsert();
+        when(itemRequestRepository.findExistingIds(Set.of(1L, 7L))).thenReturn(Set.of(1L));
+
+        ItemImportResultDto result = itemImporter.importItems(userId, body(
+                "{\"name\":\"drill\",",
+                "",
+                "{\"description\":\"no name\",\"available\":true}",
+                "{\"name\":\"saw\",\"description\":\"circular\",\"available\":true,\"requestId\":7}",
+                "{\"name\":\"juicer\",\"description\":\"fresh\",\"available\":true,\"requestId\":1}"));
+
+        assertEquals(4L, result.getRows());
+        assertEquals(1L, result.getImported());
+        assertEquals(3L, result.getFailed());
+        assertEquals(List.of(1L, 3L, 4L), result.getErrors().stream()
+                .map(ItemImportErrorDto::getLine)
+                .collect(Collectors.toList()));
+        assertTrue(result.getErrors().get(0).getError().startsWith("malformed JSON"));
+        assertEquals("name: can't be null or blank.", result.getErrors().get(1).getError());
+        assertEquals("item request with id = 7 not found.", result.getErrors().get(2).getError());
+        verify(itemRequestRepository, times(1)).getReferenceById(1L);
+        verify(itemSearchEngine, times(1)).index(any(ItemTextDto.class));
+    }
+
+    @Test
+    void importItems_whenSecondChunkFails_thenItsRowsReportedAndImportContinued() {
+        ItemImporter itemImporter = importer(2, 10);
+        when(userService.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(new User());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(itemRequestRepository.findExistingIds(Set.of(7L))).thenReturn(Set.of());
+        when(itemRepository.saveAll(anyList()))
+                .thenAnswer(this::assignIds)
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenAnswer(this::assignIds);
+
+        ItemImportResultDto result = itemImporter.importItems(userId, body(
+                "{\"name\":\"drill\",\"description\":\"cordless\",\"available\":true}",
+                "{\"name\":\"saw\",\"description\":\"circular\",\"available\":true}",
+                "{\"name\":\"tent\",\"description\":\"for two\",\"available\":true,\"requestId\":7}",
+                "{\"name\":\"juicer\",\"description\":\"fresh\",\"available\":true}",
+                "{\"name\":\"ladder\",\"description\":\"folding\",\"available\":true}"));
+
+        assertEquals(5L, result.getRows());
+        assertEquals(3L, result.getImported());
+        assertEquals(2L, result.getFailed());
+        assertEquals(List.of(3L, 4L), result.getErrors().stream()
+                .map(ItemImportErrorDto::getLine)
+                .collect(Collectors.toList()));
+        assertEquals("chunk not imported: duplicate key", result.getErrors().get(1).getError());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(itemSearchEngine, times(3)).index(any(ItemTextDto.class));
+    }
+
+    @Test
+    void importItems_whenErrorsExceedLimit_thenReportCapped() {
+        ItemImporter itemImporter = importer(10, 1);
+        when(userService.exists(userId)).thenReturn(true);
+
+        ItemImportResultDto result = itemImporter.importItems(userId, body("[]", "{\"available\":true}"));
+
+        assertEquals(2L, result.getRows());
+        assertEquals(0L, result.getImported());
+        assertEquals(2L, result.getFailed());
+        assertEquals(1, result.getErrors().size());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void importItems_whenUserNotFound_thenNotFoundException() {
+        ItemImporter itemImporter = importer(10, 10);
+        when(userService.exists(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemImporter.importItems(userId, body("{}")));
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
+    private ItemImporter importer(int chunkSize, int maxErrors) {
+        return new ItemImporter(itemRepository, itemRequestRepository, userRepository, userService, entityManager,
+                itemSearchEngine, itemSearchCache, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, chunkSize, maxErrors);
+    }
+
+    private void stubInsert() {
+        when(userService.exists(userId)).thenReturn(true);
+        when(userRepository.getReferenceById(userId)).thenReturn(new User());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(itemRepository.saveAll(anyList())).thenAnswer(this::assignIds);
+    }
+
+    private List<Item> assignIds(InvocationOnMock invocation) {
+        List<Item> items = invocation.getArgument(0);
+        items.forEach(item -> item.setId(nextId.getAndIncrement()));
+        return items;
+    }
+
+    private InputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.service.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchCacheStatsDto;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+    private ItemSearchCache itemSearchCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        itemSearchCache = new ItemSearchCache(2, 60000);
+    }
+
+    @Test
+    void get_whenSameTextInOtherCase_thenLoadedOnce() {
+        itemSearchCache.get("Drill", 0, 10, loader(item(1L)));
+        List<ItemResponseDto> items = itemSearchCache.get("dRILL", 0, 10, loader(item(1L)));
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, items.get(0).getId());
+        assertStats(1, 1, 0, 0, 1);
+    }
+
+    @Test
+    void get_whenOtherPage_thenLoadedAgain() {
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+        itemSearchCache.get("drill", 10, 10, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenMaxEntriesExceeded_thenLeastRecentlyUsedEvicted() {
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+        itemSearchCache.get("saw", 0, 10, loader(item(2L)));
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+        itemSearchCache.get("tent", 0, 10, loader(item(3L)));
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+        itemSearchCache.get("saw", 0, 10, loader(item(2L)));
+
+        assertEquals(4, loads.get());
+        assertStats(2, 4, 2, 0, 2);
+    }
+
+    @Test
+    void get_whenNextBookingStarted_thenLoadedAgain() {
+        ItemResponseDto item = item(1L);
+        BookingBookerDto nextBooking = new BookingBookerDto();
+        nextBooking.setStart(LocalDateTime.now().minusSeconds(1));
+        item.setNextBooking(nextBooking);
+
+        itemSearchCache.get("drill", 0, 10, loader(item));
+        itemSearchCache.get("drill", 0, 10, loader(item));
+
+        assertEquals(2, loads.get());
+        assertStats(0, 2, 1, 0, 1);
+    }
+
+    @Test
+    void invalidate_whenItemMatchesCachedText_thenAllPagesOfTextDropped() {
+        itemSearchCache.get("drill", 0, 1, loader(item(1L)));
+        itemSearchCache.get("drill", 1, 1, loader(item(2L)));
+
+        itemSearchCache.invalidate(null, new ItemTextDto(3L, "Hammer DRILL", "new", true));
+        itemSearchCache.get("drill", 0, 1, loader(item(1L)));
+        itemSearchCache.get("drill", 1, 1, loader(item(2L)));
+
+        assertEquals(4, loads.get());
+        assertStats(0, 4, 0, 2, 2);
+    }
+
+    @Test
+    void invalidate_whenItemStopsMatching_thenPagesOfOldTextDropped() {
+        itemSearchCache.get("drill", 0, 1, loader(item(1L)));
+        itemSearchCache.get("drill", 1, 1, loader(item(2L)));
+
+        itemSearchCache.invalidate(new ItemTextDto(3L, "drill", "old", true),
+                new ItemTextDto(3L, "saw", "new", true));
+
+        assertStats(0, 2, 0, 2, 0);
+    }
+
+    @Test
+    void invalidate_whenUnavailableItemDoesNotMatch_thenCacheKept() {
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+
+        itemSearchCache.invalidate(null, new ItemTextDto(3L, "drill", "unavailable", false));
+        itemSearchCache.invalidate(new ItemTextDto(4L, "saw", "old", true),
+                new ItemTextDto(4L, "tent", "new", true));
+
+        assertStats(0, 1, 0, 0, 1);
+    }
+
+    @Test
+    void invalidate_whenCachedItemBecomesUnavailable_thenPageDropped() {
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+
+        itemSearchCache.invalidate(new ItemTextDto(1L, "drill", "old", true),
+                new ItemTextDto(1L, "drill", "old", false));
+
+        assertStats(0, 1, 0, 1, 0);
+    }
+
+    @Test
+    void onBookingChanged_whenItemCached_thenOnlyPagesWithItemDropped() {
+        itemSearchCache.get("drill", 0, 10, loader(item(1L)));
+        itemSearchCache.get("saw", 0, 10, loader(item(2L)));
+
+        itemSearchCache.onBookingChanged(new BookingChangedEvent(1L, 1L));
+
+        assertStats(0, 2, 0, 1, 1);
+    }
+
+    private Supplier<List<ItemResponseDto>> loader(ItemResponseDto... items) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(items);
+        };
+    }
+
+    private ItemResponseDto item(Long id) {
+        ItemResponseDto itemResponseDto = new ItemResponseDto();
+        itemResponseDto.setId(id);
+        return itemResponseDto;
+    }
+
+    private void assertStats(long hits, long misses, long evictions, long invalidations, int size) {
+        ItemSearchCacheStatsDto stats = itemSearchCache.getStats();
+        assertEquals(hits, stats.getHits());
+        assertEquals(misses, stats.getMisses());
+        assertEquals(evictions, stats.getEvictions());
+        assertEquals(invalidations, stats.getInvalidations());
+        assertEquals(size, stats.getSize());
+    }
+}
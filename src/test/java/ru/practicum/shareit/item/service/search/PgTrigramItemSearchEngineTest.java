@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.service.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PgTrigramItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private PgTrigramItemSearchEngine engine;
+
+    @Test
+    void search_whenInvoked_thenUnsortedPageAndBoundPatternUsed() {
+        engine.search("DRiLL", PageRequest.of(2, 10, Sort.Direction.ASC, "id"));
+
+        verify(itemRepository, times(1)).findAvailableByPattern("%drill%", PageRequest.of(2, 10));
+    }
+
+    @Test
+    void containsPattern_whenTextHasWildcards_thenWildcardsEscaped() {
+        assertEquals("%100\\%\\_\\\\%", PgTrigramItemSearchEngine.containsPattern("100%_\\"));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.db.model.Item;
+import ru.practicum.shareit.item.db.repository.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemTextDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+    private final List<ItemTextDto> texts = List.of(
+            new ItemTextDto(1L, "Drill", "simple drill", true),
+            new ItemTextDto(2L, "Vacuum cleaner", "simple vacuum cleaner", false),
+            new ItemTextDto(3L, "Juicer", "best juicer", true),
+            new ItemTextDto(4L, "Hammer drill", "drill for concrete", true));
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Item> items = new ArrayList<>();
+            ids.forEach(id -> items.add(item(id)));
+            return items;
+        });
+    }
+
+    @Test
+    void search_whenTextMatchesNameOrDescription_thenReturnedAvailableItemsById() {
+        TrigramItemSearchEngine engine = rebuiltEngine(false);
+
+        assertEquals(List.of(1L, 4L), ids(engine.search("DRILL", pageable)));
+        assertEquals(List.of(4L), ids(engine.search("concrete", pageable)));
+        assertEquals(List.of(1L), ids(engine.search("simple", pageable)));
+        assertEquals(List.of(1L, 4L), ids(engine.search("ll", pageable)));
+        assertTrue(engine.search("vacuum", pageable).isEmpty());
+        assertTrue(engine.search("not found", pageable).isEmpty());
+    }
+
+    @Test
+    void search_whenRankingEnabled_thenNameMatchesFirst() {
+        TrigramItemSearchEngine rankingEngine = rebuiltEngine(true);
+        TrigramItemSearchEngine engine = rebuiltEngine(false);
+        ItemTextDto juicer = new ItemTextDto(3L, "Juicer", "not a hammer", true);
+        rankingEngine.index(juicer);
+        engine.index(juicer);
+
+        assertEquals(List.of(4L, 3L), ids(rankingEngine.search("hammer", pageable)));
+        assertEquals(List.of(3L, 4L), ids(engine.search("hammer", pageable)));
+    }
+
+    @Test
+    void search_whenPageRequested_thenReturnedPage() {
+        TrigramItemSearchEngine engine = rebuiltEngine(false);
+
+        assertEquals(List.of(4L), ids(engine.search("drill", PageRequest.of(1, 1))));
+        assertTrue(engine.search("drill", PageRequest.of(2, 1)).isEmpty());
+    }
+
+    @Test
+    void index_whenItemChanged_thenIndexUpdated() {
+        TrigramItemSearchEngine engine = rebuiltEngine(false);
+
+        engine.index(new ItemTextDto(1L, "Saw", "simple saw", true));
+        engine.index(new ItemTextDto(2L, "Vacuum cleaner", "simple vacuum cleaner", true));
+        engine.index(new ItemTextDto(5L, "Drill bits", "set of bits", true));
+
+        assertEquals(List.of(4L, 5L), ids(engine.search("drill", pageable)));
+        assertEquals(List.of(2L), ids(engine.search("vacuum", pageable)));
+        assertEquals(List.of(1L), ids(engine.search("saw", pageable)));
+    }
+
+    @Test
+    void rebuild_whenInvoked_thenReturnedIndexedItems() {
+        TrigramItemSearchEngine engine = new TrigramItemSearchEngine(itemRepository, false);
+        when(itemRepository.findAllTexts()).thenReturn(texts);
+
+        assertEquals(4, engine.rebuild());
+        verify(itemRepository, times(1)).findAllTexts();
+    }
+
+    private TrigramItemSearchEngine rebuiltEngine(boolean ranking) {
+        TrigramItemSearchEngine engine = new TrigramItemSearchEngine(itemRepository, ranking);
+        when(itemRepository.findAllTexts()).thenReturn(texts);
+        engine.rebuild();
+        return engine;
+    }
+
+    private Item item(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        return item;
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.service.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.db.repository.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingBookerDto;
+import ru.practicum.shareit.booking.service.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingSummaryTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private ItemBookingSummary itemBookingSummary;
+
+    private final Long itemId = 1L;
+    private final BookingBookerDto lastBooking = new BookingBookerDto();
+    private final BookingBookerDto nextBooking = new BookingBookerDto();
+
+    @BeforeEach
+    void setUp() {
+        itemBookingSummary = new ItemBookingSummary(bookingRepository, 60000);
+
+        lastBooking.setId(1L);
+        lastBooking.setItemId(itemId);
+        lastBooking.setStart(LocalDateTime.now().minusDays(3));
+        lastBooking.setEnd(LocalDateTime.now().minusDays(2));
+
+        nextBooking.setId(2L);
+        nextBooking.setItemId(itemId);
+        nextBooking.setStart(LocalDateTime.now().plusDays(2));
+        nextBooking.setEnd(LocalDateTime.now().plusDays(3));
+    }
+
+    @Test
+    void fill_whenItemRequestedTwice_thenBookingsLoadedOnce() {
+        when(bookingRepository.findLastAndNextByIdList(anyList(), any()))
+                .thenReturn(List.of(nextBooking, lastBooking));
+
+        ItemResponseDto first = itemDto(itemId);
+        itemBookingSummary.fill(List.of(first));
+        ItemResponseDto second = itemDto(itemId);
+        itemBookingSummary.fill(List.of(second));
+
+        verify(bookingRepository, times(1)).findLastAndNextByIdList(anyList(), any());
+        assertEquals(lastBooking.getId(), second.getLastBooking().getId());
+        assertEquals(nextBooking.getId(), second.getNextBooking().getId());
+    }
+
+    @Test
+    void fill_whenBookingChanged_thenBookingsReloaded() {
+        when(bookingRepository.findLastAndNextByIdList(anyList(), any()))
+                .thenReturn(List.of(lastBooking))
+                .thenReturn(List.of(nextBooking, lastBooking));
+
+        ItemResponseDto first = itemDto(itemId);
+        itemBookingSummary.fill(List.of(first));
+        itemBookingSummary.onBookingChanged(new BookingChangedEvent(nextBooking.getId(), itemId));
+        ItemResponseDto second = itemDto(itemId);
+        itemBookingSummary.fill(List.of(second));
+
+        verify(bookingRepository, times(2)).findLastAndNextByIdList(anyList(), any());
+        assertNull(first.getNextBooking());
+        assertEquals(nextBooking.getId(), second.getNextBooking().getId());
+    }
+
+    @Test
+    void fill_whenLastBookingNotFinished_thenLastBookingEmpty() {
+        lastBooking.setEnd(LocalDateTime.now().plusDays(1));
+        when(bookingRepository.findLastAndNextByIdList(anyList(), any())).thenReturn(List.of(lastBooking));
+
+        ItemResponseDto itemDto = itemDto(itemId);
+        itemBookingSummary.fill(List.of(itemDto));
+
+        assertNull(itemDto.getLastBooking());
+        assertNull(itemDto.getNextBooking());
+    }
+
+    @Test
+    void refresh_whenNextBookingStarted_thenBookingsReloaded() throws InterruptedException {
+        nextBooking.setStart(LocalDateTime.now().plusSeconds(1));
+        when(bookingRepository.findLastAndNextByIdList(anyList(), any()))
+                .thenReturn(List.of(nextBooking));
+
+        itemBookingSummary.fill(List.of(itemDto(itemId)));
+        itemBookingSummary.refresh();
+        verify(bookingRepository, times(1)).findLastAndNextByIdList(anyList(), any());
+
+        Thread.sleep(1100);
+        itemBookingSummary.refresh();
+
+        verify(bookingRepository, times(2)).findLastAndNextByIdList(anyList(), any());
+    }
+
+    private ItemResponseDto itemDto(Long itemId) {
+        ItemResponseDto itemResponseDto = new ItemResponseDto();
+        itemResponseDto.setId(itemId);
+        return itemResponseDto;
+    }
+}
@@ -3,11 +3,12 @@ package ru.practicum.shareit.request.db.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import ru.practicum.shareit.request.db.model.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemReqResponseDto;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,23 +23,23 @@ class ItemRequestRepositoryTest {
 
     @Test
     void getItemRequestsByRequestorId_whenRequestorIdFound_thenReturnedItemRequests() {
-        Page<ItemRequest> requests = itemRequestRepository.getItemRequestsByRequestorId(requestorId, pageable);
-        assertEquals(1, requests.getContent().size());
-        assertEquals(requestorId, requests.getContent().get(0).getRequestor().getId());
+        List<ItemReqResponseDto> requests = itemRequestRepository.getItemRequestsByRequestorId(requestorId, pageable);
+        assertEquals(1, requests.size());
+        assertEquals(1L, requests.get(0).getId());
 
         requests = itemRequestRepository.getItemRequestsByRequestorId(requestorNotFound, pageable);
-        assertEquals(0, requests.getContent().size());
+        assertEquals(0, requests.size());
     }
 
     @Test
     void findAllByOtherUsers_whenBookerIdFound_thenReturnedBookings() {
-        Long otherRequestor = 2L;
+        Long otherRequestorRequest = 2L;
 
-        Page<ItemRequest> requests = itemRequestRepository.findAllByOtherUsers(requestorId, pageable);
-        assertEquals(1, requests.getContent().size());
-        assertEquals(otherRequestor, requests.getContent().get(0).getRequestor().getId());
+        List<ItemReqResponseDto> requests = itemRequestRepository.findAllByOtherUsers(requestorId, pageable);
+        assertEquals(1, requests.size());
+        assertEquals(otherRequestorRequest, requests.get(0).getId());
 
         requests = itemRequestRepository.findAllByOtherUsers(requestorNotFound, pageable);
-        assertEquals(2, requests.getContent().size());
+        assertEquals(2, requests.size());
     }
 }
\ No newline at end of file
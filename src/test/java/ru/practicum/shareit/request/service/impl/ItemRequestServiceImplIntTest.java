@@ -12,7 +12,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "shareit.query-budget.fail-on-exceed=true")
 @Transactional
 class ItemRequestServiceImplIntTest {
     @Autowired
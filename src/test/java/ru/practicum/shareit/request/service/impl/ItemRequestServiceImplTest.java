@@ -6,9 +6,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.support.PageableExecutionUtils;
 import ru.practicum.shareit.global.exception.NotFoundException;
 import ru.practicum.shareit.item.db.model.Item;
 import ru.practicum.shareit.item.db.repository.ItemRepository;
@@ -20,20 +17,17 @@ import ru.practicum.shareit.request.dto.ItemReqRequestDto;
 import ru.practicum.shareit.request.dto.ItemReqResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.user.db.model.User;
-import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.function.LongSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
-import static ru.practicum.shareit.global.utility.PageableConverter.getPageable;
 
 @ExtendWith(MockitoExtension.class)
 class ItemRequestServiceImplTest {
@@ -87,7 +81,7 @@ class ItemRequestServiceImplTest {
         itemForRequestResponseDto.setDescription(item1.getDescription());
         itemForRequestResponseDto.setAvailable(item1.getAvailable());
         itemForRequestResponseDto.setOwnerId(item1.getOwner().getId());
-        itemForRequestResponseDto.setRequestId(item1.getRequest().getId());
+        itemForRequestResponseDto.setRequestId(requestId);
 
         itemReqRequestDto.setRequestorId(user2.getId());
         itemReqRequestDto.setDescription("need drill");
@@ -104,39 +98,31 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getItemRequests_whenRequestorFound_thenReturnedItemRequests() {
-        LongSupplier longSuplier = () -> Long.parseLong("10");
-        Page<ItemRequest> pageItemRequests = PageableExecutionUtils
-                .getPage(List.of(itemRequest1), getPageable(0, 10, Sort.Direction.DESC,
-                        "created"), longSuplier);
-
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user2));
+        when(userService.exists(anyLong())).thenReturn(true);
         when(itemRequestRepository.getItemRequestsByRequestorId(anyLong(), any()))
-                .thenReturn(pageItemRequests);
-        when(itemRequestMapper.toItemReqDto(any())).thenReturn(itemReqResponseDto);
-        when(itemRepository.findItemsByRequestId(anySet())).thenReturn(List.of(item1));
-        when(itemMapper.toItemForRequestDto(any())).thenReturn(itemForRequestResponseDto);
+                .thenReturn(List.of(itemReqResponseDto));
+        when(itemRepository.findItemsByRequestId(anySet())).thenReturn(List.of(itemForRequestResponseDto));
 
         List<ItemReqResponseDto> actualItemRequests = itemRequestService.getItemRequests(requestorId, 0, 10);
 
-        verify(userService, times(1)).getById(anyLong());
+        verify(userService, times(1)).exists(anyLong());
         verify(itemRequestRepository, times(1)).getItemRequestsByRequestorId(anyLong(), any());
-        verify(itemRequestMapper, times(1)).toItemReqDto(any());
         verify(itemRepository, times(1)).findItemsByRequestId(anySet());
-        verify(itemMapper, times(1)).toItemForRequestDto(any());
         assertEquals(actualItemRequests.get(0).getId(), itemRequest1.getId());
+        assertEquals(1, actualItemRequests.get(0).getItems().size());
     }
 
     @Test
-    void getItemRequests_whenRequestorNotFound_thenEntityNotFoundException() {
-        when(userService.getById(anyLong())).thenThrow(EntityNotFoundException.class);
+    void getItemRequests_whenRequestorNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
 
-        assertThrows(EntityNotFoundException.class, () ->
+        assertThrows(NotFoundException.class, () ->
                 itemRequestService.getItemRequests(requestorNotFound, 0, 10));
     }
 
     @Test
     void getById_whenRequestorAndRequestIdFound_thenReturnedItemRequest() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user2));
+        when(userService.exists(anyLong())).thenReturn(true);
         when(itemRequestRepository.getReferenceById(anyLong())).thenReturn(itemRequest1);
         when(itemRequestMapper.toItemReqDto(any())).thenReturn(itemReqResponseDto);
         when(itemRepository.getItemsByRequestId(any())).thenReturn(List.of(item1));
@@ -144,7 +130,7 @@ class ItemRequestServiceImplTest {
 
         ItemReqResponseDto actualItemRequest = itemRequestService.getById(requestorId, requestId);
 
-        verify(userService, times(1)).getById(anyLong());
+        verify(userService, times(1)).exists(anyLong());
         verify(itemRequestRepository, times(1)).getReferenceById(anyLong());
         verify(itemRequestMapper, times(1)).toItemReqDto(any());
         verify(itemRepository, times(1)).getItemsByRequestId(any());
@@ -153,16 +139,16 @@ class ItemRequestServiceImplTest {
     }
 
     @Test
-    void getById_whenRequestorNotFound_thenEntityNotFoundException() {
-        when(userService.getById(anyLong())).thenThrow(EntityNotFoundException.class);
+    void getById_whenRequestorNotFound_thenNotFoundException() {
+        when(userService.exists(anyLong())).thenReturn(false);
 
-        assertThrows(EntityNotFoundException.class, () ->
+        assertThrows(NotFoundException.class, () ->
                 itemRequestService.getById(requestorNotFound, requestId));
     }
 
     @Test
     void getById_whenRequestNotFound_thenEntityNotFoundException() {
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user2));
+        when(userService.exists(anyLong())).thenReturn(true);
         when(itemRequestRepository.getReferenceById(anyLong())).thenThrow(EntityNotFoundException.class);
 
         assertThrows(EntityNotFoundException.class, () ->
@@ -172,26 +158,18 @@ class ItemRequestServiceImplTest {
     @Test
     void getAllByOtherRequestors_whenInvoked_thenReturnedOtherRequestorsItemRequests() {
         Long notRequestorId = 3L;
-        LongSupplier longSuplier = () -> Long.parseLong("10");
-        Page<ItemRequest> pageItemRequests = PageableExecutionUtils
-                .getPage(List.of(itemRequest1), getPageable(0, 10, Sort.Direction.DESC,
-                        "created"), longSuplier);
-
-        when(userService.getById(anyLong())).thenReturn(toUserDto(user1));
+        when(userService.exists(anyLong())).thenReturn(true);
         when(itemRequestRepository.getItemRequestsByRequestorId(anyLong(), any()))
-                .thenReturn(pageItemRequests);
-        when(itemRequestMapper.toItemReqDto(any())).thenReturn(itemReqResponseDto);
-        when(itemRepository.findItemsByRequestId(anySet())).thenReturn(List.of(item1));
-        when(itemMapper.toItemForRequestDto(any())).thenReturn(itemForRequestResponseDto);
+                .thenReturn(List.of(itemReqResponseDto));
+        when(itemRepository.findItemsByRequestId(anySet())).thenReturn(List.of(itemForRequestResponseDto));
 
         List<ItemReqResponseDto> actualItemRequests = itemRequestService.getItemRequests(notRequestorId, 0, 10);
 
-        verify(userService, times(1)).getById(anyLong());
+        verify(userService, times(1)).exists(anyLong());
         verify(itemRequestRepository, times(1)).getItemRequestsByRequestorId(anyLong(), any());
-        verify(itemRequestMapper, times(1)).toItemReqDto(any());
         verify(itemRepository, times(1)).findItemsByRequestId(anySet());
-        verify(itemMapper, times(1)).toItemForRequestDto(any());
         assertEquals(actualItemRequests.get(0).getId(), itemRequest1.getId());
+        assertEquals(1, actualItemRequests.get(0).getItems().size());
     }
 
     @Test
@@ -216,12 +194,4 @@ class ItemRequestServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> itemRequestService.save(itemReqRequestDto));
     }
-
-    private UserResponseDto toUserDto(User user) {
-        UserResponseDto userResponseDto = new UserResponseDto();
-        userResponseDto.setId(user.getId());
-        userResponseDto.setName(user.getName());
-        userResponseDto.setEmail(user.getEmail());
-        return userResponseDto;
-    }
-}
\ No newline at end of file
+}
@@ -86,6 +86,63 @@ class UserServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> userService.getById(userId));
     }
 
+    @Test
+    void exists_whenUserFoundTwice_thenQueriedOnce() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+
+        assertTrue(userService.exists(userId));
+        assertTrue(userService.exists(userId));
+
+        verify(userRepository, times(1)).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenUserNotFound_thenQueriedEveryTime() {
+        when(userRepository.existsById(anyLong())).thenReturn(false);
+
+        assertFalse(userService.exists(userNotFound));
+        assertFalse(userService.exists(userNotFound));
+
+        verify(userRepository, times(2)).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenUserDeleted_thenQueriedAgain() {
+        when(userRepository.existsById(anyLong())).thenReturn(true).thenReturn(false);
+
+        assertTrue(userService.exists(userId));
+        userService.delete(userId);
+
+        assertFalse(userService.exists(userId));
+        verify(userRepository, times(2)).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenUserDeletedWhileQueried_thenQueriedAgain() {
+        when(userRepository.existsById(anyLong()))
+                .thenAnswer(invocation -> {
+                    userService.delete(userId);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertTrue(userService.exists(userId));
+
+        assertFalse(userService.exists(userId));
+        verify(userRepository, times(2)).existsById(anyLong());
+    }
+
+    @Test
+    void exists_whenUserSaved_thenNotQueried() {
+        when(userMapper.toUser(any())).thenReturn(user1);
+        when(userRepository.save(any())).thenReturn(user1);
+
+        userService.save(userRequestDto);
+
+        assertTrue(userService.exists(user1.getId()));
+        verify(userRepository, times(0)).existsById(anyLong());
+    }
+
     @Test
     void save_whenInvoked_thenSaveUser() {
         when(userMapper.toUser(any())).thenReturn(user1);
@@ -0,0 +1,37 @@
+delete from comments;
+delete from bookings;
+delete from items;
+delete from item_requests;
+delete from users;
+alter sequence users_seq restart with 5;
+alter sequence item_requests_seq restart with 3;
+alter sequence items_seq restart with 4;
+alter sequence bookings_seq restart with 6;
+alter sequence comments_seq restart with 2;
+
+insert into users(id, name, email) values (1, 'user', 'user@user.com');
+insert into users(id, name, email) values (2, 'other', 'other@other.com');
+insert into users(id, name, email) values (3, 'booker', 'booker@booker.com');
+insert into users(id, name, email) values (4, 'deleted', 'deleted@deleted.com');
+insert into item_requests(id, description, requestor_id, created)
+values (1, 'need best juicer', 1, NOW());
+insert into item_requests(id, description, requestor_id, created)
+values (2, 'need something', 2, NOW());
+insert into items(id, name, description, is_available, owner_id, request_id)
+values (1, 'drill', 'simple drill', true, 1, null);
+insert into items(id, name, description, is_available, owner_id, request_id)
+values (2, 'vacuum cleaner', 'simple vacuum cleaner', false, 2, null);
+insert into items(id, name, description, is_available, owner_id, request_id)
+values (3, 'juicer', 'best juicer', true, 3, 1);
+insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status)
+values (1, NOW() + INTERVAL '1' DAY, NOW() + INTERVAL '7' DAY, 1, 1, 3, 'APPROVED');
+insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status)
+values (2, NOW() - INTERVAL '3' DAY, NOW() - INTERVAL '2' DAY, 2, 2, 1, 'APPROVED');
+insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status)
+values (3, NOW() + INTERVAL '1' DAY, NOW() + INTERVAL '7' DAY, 3, 3, 2, 'WAITING');
+insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status)
+values (4, NOW() - INTERVAL '1' DAY, NOW() + INTERVAL '5' DAY, 2, 2, 3, 'WAITING');
+insert into bookings(id, start_date, end_date, item_id, item_owner_id, booker_id, status)
+values (5, NOW() - INTERVAL '8' DAY, NOW() - INTERVAL '1' DAY, 1, 1, 2, 'APPROVED');
+insert into comments(id, text, item_id, author_id, created)
+values (1, 'works', 1, 3, NOW() + INTERVAL '8' DAY);
\ No newline at end of file